@@ -0,0 +1,110 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks and writes {@code target/jmh-result.json}. When
+ * {@code -Dbenchmark.baseline} points at the result file of an earlier commit,
+ * prints the change per benchmark and exits non-zero if any got slower by more
+ * than {@value #REGRESSION_THRESHOLD_PERCENT}% and the two 99.9% confidence
+ * intervals JMH reports do not overlap, so run-to-run noise alone cannot fail
+ * the build. Arguments are regular JMH command line options (benchmark regex,
+ * {@code -wi}, {@code -i}, {@code -p}).
+ */
+public final class BenchmarkRunner {
+    
+    static final String RESULT_FILE = "target/jmh-result.json";
+    static final double REGRESSION_THRESHOLD_PERCENT = 10.0;
+    
+    /** Mean score and the half-width of its confidence interval ({@code scoreError}). */
+    record Score(double mean, double error) {
+    }
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(Path.of(RESULT_FILE).getParent());
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+        new Runner(options).run();
+        
+        String baseline = System.getProperty("benchmark.baseline", "");
+        if (baseline.isBlank()) {
+            return;
+        }
+        File baselineFile = new File(baseline);
+        if (!baselineFile.isFile()) {
+            System.err.println("Baseline not found: " + baseline);
+            return;
+        }
+        int regressions = compare(scores(baselineFile), scores(new File(RESULT_FILE)));
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+    
+    // ทุก benchmark ใช้ AverageTime: ค่ามากขึ้น = ช้าลง
+    static int compare(Map<String, Score> baseline, Map<String, Score> current) {
+        int regressions = 0;
+        System.out.printf("%n%-50s %22s %22s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || before.mean() == 0) {
+                System.out.printf("%-50s %22s %22s %9s%n", entry.getKey(), "-", format(after), "new");
+                continue;
+            }
+            double change = (after.mean() - before.mean()) / before.mean() * 100;
+            // ช้าลงเกินเกณฑ์ และช่วงความเชื่อมั่นของสองรอบไม่ทับกัน จึงนับว่าช้าลงจริง ไม่ใช่ noise
+            boolean regressed = change > REGRESSION_THRESHOLD_PERCENT
+                    && after.mean() - after.error() > before.mean() + before.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-50s %22s %22s %+8.1f%%%s%n",
+                    entry.getKey(), format(before), format(after), change, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+    
+    private static String format(Score score) {
+        return String.format("%.3f ± %.3f", score.mean(), score.error());
+    }
+    
+    static Map<String, Score> scores(File resultFile) throws Exception {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(resultFile)) {
+            String name = run.get("benchmark").asText();
+            StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.properties().forEach(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                sorted.forEach((param, value) -> key.append(' ').append(param).append('=').append(value));
+            }
+            JsonNode metric = run.get("primaryMetric");
+            key.append(" (").append(metric.get("scoreUnit").asText()).append(')');
+            // รอบที่มีตัวอย่างเดียว JMH ให้ scoreError เป็น NaN
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(), Double.isNaN(error) ? 0 : error));
+        }
+        return scores;
+    }
+}
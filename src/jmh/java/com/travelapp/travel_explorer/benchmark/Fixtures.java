@@ -0,0 +1,31 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+
+import java.time.OffsetDateTime;
+
+// ข้อมูลตัวอย่างที่ขนาดใกล้เคียง trip จริง: มีรูป 3 รูป (2 รูปมี rendition) และ tag 3 อัน
+final class Fixtures {
+    
+    private Fixtures() {
+    }
+    
+    static Trip trip(long id, User author, OffsetDateTime createdAt) {
+        Trip trip = new Trip();
+        trip.setId(id);
+        trip.setTitle("Trip " + id + " to the islands");
+        trip.setDescription("Three days of snorkelling, night markets and long-tail boats around the bay.");
+        trip.setPhotos(new String[]{
+                "https://storage.example.com/trips/" + id + "/a/original.jpg",
+                "https://storage.example.com/trips/" + id + "/b/original.png",
+                "https://storage.example.com/legacy/" + id + ".jpg"});
+        trip.setTags(new String[]{"beach", "island", "food"});
+        trip.setLatitude(7.88 + id * 1e-4);
+        trip.setLongitude(98.39 + id * 1e-4);
+        trip.setAuthor(author);
+        trip.setCreatedAt(createdAt);
+        trip.setUpdatedAt(createdAt);
+        return trip;
+    }
+}
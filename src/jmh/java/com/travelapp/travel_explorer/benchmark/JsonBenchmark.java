@@ -0,0 +1,81 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.travelapp.travel_explorer.config.ImageProperties;
+import com.travelapp.travel_explorer.dto.ErrorResponse;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.service.ImageRenditionUrls;
+import com.travelapp.travel_explorer.service.TripMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an {@link ObjectMapper} configured the way Spring
+ * Boot configures the MVC one (JavaTimeModule, ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    
+    private ObjectWriter writer;
+    private TripDto trip;
+    private List<TripDto> page;
+    private ErrorResponse validationError;
+    
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        
+        TripMapper mapper = new TripMapper(new ImageRenditionUrls(new ImageProperties(null, 0.8f, 1, 1, 1_000_000L)));
+        User author = new User();
+        author.setId(1L);
+        author.setDisplayName("Alice");
+        OffsetDateTime now = OffsetDateTime.now();
+        trip = mapper.toDto(Fixtures.trip(1, author, now));
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(mapper.toDto(Fixtures.trip(i, author, now)));
+        }
+        
+        validationError = new ErrorResponse(400, "Validation Failed", "Invalid input data", "/api/trips",
+                List.of(new ErrorResponse.FieldError("title", "Title is required"),
+                        new ErrorResponse.FieldError("latitude", "must be between -90 and 90")));
+    }
+    
+    @Benchmark
+    public byte[] tripDto() throws Exception {
+        return writer.writeValueAsBytes(trip);
+    }
+    
+    @Benchmark
+    public byte[] tripPage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] errorResponse() throws Exception {
+        return writer.writeValueAsBytes(validationError);
+    }
+}
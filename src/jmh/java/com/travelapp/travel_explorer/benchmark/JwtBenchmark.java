@@ -0,0 +1,79 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on every login and every authenticated
+ * request. {@code validateCached} is the steady state of a client reusing its
+ * bearer token; {@code validateUncached} pays the HMAC verification each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    
+    private static final String SECRET = "benchmark-secret-that-is-at-least-32-bytes-long!";
+    private static final int DISTINCT_TOKENS = 1024;
+    
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider nonCachingProvider;
+    private String token;
+    private String[] tokens;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        cachingProvider = provider(10_000L);
+        nonCachingProvider = provider(0L);
+        token = cachingProvider.generateToken("alice@example.com", 42L);
+        cachingProvider.validateToken(token);
+        
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = nonCachingProvider.generateToken("user" + i + "@example.com", (long) i);
+        }
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken("alice@example.com", 42L);
+    }
+    
+    @Benchmark
+    public boolean validateCached() {
+        return cachingProvider.validateToken(token);
+    }
+    
+    @Benchmark
+    public boolean validateUncached() {
+        // วนหลาย token เผื่อ cache ขนาด 0 ยังไม่ทัน evict
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return nonCachingProvider.validateToken(tokens[next]);
+    }
+    
+    private static JwtTokenProvider provider(long cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", TimeUnit.HOURS.toMillis(24));
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,54 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost per register ({@code encode}) and per login ({@code matches}).
+ * The default strength is the floor {@code PasswordHashingConfig} calibrates
+ * from; pass {@code -p strength=12} to see what each step above it costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+    
+    private static final String PASSWORD = "correct horse battery staple";
+    
+    @Param({"10"})
+    public int strength;
+    
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,65 @@
+package com.travelapp.travel_explorer.benchmark;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.service.ImageRenditionUrls;
+import com.travelapp.travel_explorer.service.TripMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping over a page of trips. {@code TripService.convertToDto}
+ * delegates to {@link TripMapper#toDto}, so this is the list endpoints' mapping
+ * cost without the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TripMappingBenchmark {
+    
+    @Param({"100", "10000"})
+    public int size;
+    
+    private TripMapper mapper;
+    private List<Trip> trips;
+    
+    @Setup
+    public void setUp() {
+        mapper = new TripMapper(new ImageRenditionUrls(new ImageProperties(null, 0.8f, 1, 1, 1_000_000L)));
+        
+        User author = new User();
+        author.setId(1L);
+        author.setDisplayName("Alice");
+        OffsetDateTime now = OffsetDateTime.now();
+        trips = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            trips.add(Fixtures.trip(i, author, now));
+        }
+    }
+    
+    @Benchmark
+    public List<TripDto> toDtoList() {
+        return trips.stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+}
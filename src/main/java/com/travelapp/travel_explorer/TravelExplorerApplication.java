@@ -2,8 +2,12 @@ package com.travelapp.travel_explorer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC ใช้เฉพาะ read path ของ /api/rx/trips (ดู ReactiveTripConfig) ไม่ให้ Boot สร้าง ConnectionFactory
+// และ ReactiveTransactionManager เอง ซึ่งจะทำให้ JpaTransactionManager ไม่ถูกสร้าง
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class TravelExplorerApplication {
 
 	public static void main(String[] args) {
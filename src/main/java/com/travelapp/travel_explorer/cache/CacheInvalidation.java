@@ -0,0 +1,17 @@
+package com.travelapp.travel_explorer.cache;
+
+/**
+ * One invalidation sent between nodes.
+ *
+ * @param cache  logical cache name, e.g. {@link TripDtoCache#NAME}
+ * @param scope  whether {@code id} is an entry key or an author whose entries should go
+ * @param id     trip id or user id, depending on {@code scope}
+ * @param origin id of the node that sent it; a node ignores its own messages
+ */
+public record CacheInvalidation(String cache, Scope scope, Long id, String origin) {
+    
+    public enum Scope {
+        KEY,
+        AUTHOR
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelapp.travel_explorer.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations to the other application nodes. The default
+ * {@link LocalCacheInvalidationBus} only reaches this JVM. A multi-node
+ * deployment sets {@code cache.invalidation.bus} to something else and
+ * provides its own bean, for example one backed by Redis pub/sub or Postgres
+ * LISTEN/NOTIFY.
+ */
+public interface CacheInvalidationBus {
+    
+    void publish(CacheInvalidation invalidation);
+    
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
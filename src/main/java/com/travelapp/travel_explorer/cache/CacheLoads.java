@@ -0,0 +1,107 @@
+package com.travelapp.travel_explorer.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Read-through on an {@link AsyncCache} that runs the loader outside the
+ * cache's internal lock.
+ *
+ * <p>{@code Cache.get(key, loader)} runs the loader inside
+ * {@code ConcurrentHashMap.compute}, which holds a monitor. A loader that
+ * blocks on JDBC there pins a virtual thread's carrier for the whole query.
+ * Here the map only stores an empty future. The first caller then loads on its
+ * own thread, and every other caller for that key waits on the future. That
+ * keeps the one-load-per-key guarantee with no monitor held during I/O.
+ */
+final class CacheLoads {
+    
+    private CacheLoads() {
+    }
+    
+    /** A null result is returned but not cached; Caffeine drops futures that complete with null. */
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> ours = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> ours);
+        if (future == ours) {
+            try {
+                ours.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                ours.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return join(future);
+    }
+    
+    /**
+     * Bulk read-through: every key that is neither cached nor being loaded by
+     * another caller is loaded in one call to {@code loader}. Keys the loader
+     * does not return are left out of the result and not cached.
+     */
+    static <K, V> Map<K, V> getAllOrLoad(AsyncCache<K, V> cache, Collection<K> keys,
+                                         Function<Set<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> ours = new HashMap<>();
+        for (K key : keys) {
+            if (futures.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> future = cache.get(key, (k, executor) -> mine);
+            futures.put(key, future);
+            if (future == mine) {
+                ours.put(key, mine);
+            }
+        }
+        // ทำ future ของเราให้เสร็จก่อนรอของคนอื่น จึงไม่มีทางรอกันเป็นวง
+        if (!ours.isEmpty()) {
+            try {
+                Map<K, V> loaded = loader.apply(ours.keySet());
+                ours.forEach((key, future) -> future.complete(loaded.get(key)));
+            } catch (RuntimeException | Error e) {
+                ours.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            }
+        }
+        Map<K, V> result = new HashMap<>();
+        futures.forEach((key, future) -> {
+            V value = join(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+    
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // ให้คนที่รอได้ exception เดียวกับคนโหลด
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /** True when the entry holds a finished value matching the test, or is still loading. */
+    static <V> boolean loadingOrMatches(CompletableFuture<V> future, Predicate<V> test) {
+        if (!future.isDone()) {
+            // โหลดอยู่ระหว่างที่ข้อมูลเปลี่ยน ค่าที่ได้อาจเก่า ทิ้งไปด้วย
+            return true;
+        }
+        V value = future.getNow(null);
+        return value != null && test.test(value);
+    }
+}
@@ -0,0 +1,30 @@
+package com.travelapp.travel_explorer.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus that delivers synchronously to every subscriber. It is enough
+ * for a single node. In tests it also stands in for the network, by sharing
+ * one instance between several caches that act as separate nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+    
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+    
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
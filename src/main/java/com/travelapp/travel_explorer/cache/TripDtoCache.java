@@ -0,0 +1,133 @@
+package com.travelapp.travel_explorer.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of finished {@link TripDto}s by trip id, bounded by size
+ * and TTL. Concurrent misses on one key share a single load, so a trip that
+ * suddenly goes viral costs one query rather than one per request.
+ *
+ * <p>Entries are dropped after a trip update or delete commits, and when an
+ * author's user row changes, because the display name is part of the DTO.
+ * Every local invalidation is also published on the {@link CacheInvalidationBus}
+ * for the other nodes. Hit ratio and load time are exported as
+ * {@code cache.*{cache=trips.byId}} metrics.
+ *
+ * <p>Cached DTOs are shared between requests and must not be modified.
+ */
+@Component
+public class TripDtoCache {
+    
+    public static final String NAME = "trips.byId";
+    
+    private final AsyncCache<Long, TripDto> cache;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+    
+    public TripDtoCache(CacheInvalidationBus invalidationBus,
+                        MeterRegistry meterRegistry,
+                        @Value("${trips.cache.ttl:10m}") Duration ttl,
+                        @Value("${trips.cache.max-size:10000}") long maxSize) {
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        this.localInvalidations = Counter.builder("cache.invalidations")
+                .tag("cache", NAME).tag("source", "local").register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("cache.invalidations")
+                .tag("cache", NAME).tag("source", "remote").register(meterRegistry);
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+    
+    /**
+     * Cached DTO, or the loader's result on a miss. A loader returning null
+     * (trip not found) is not cached.
+     */
+    public Optional<TripDto> get(Long tripId, Function<Long, TripDto> loader) {
+        return Optional.ofNullable(CacheLoads.getOrLoad(cache, tripId, loader));
+    }
+    
+    /**
+     * Cached DTOs for {@code tripIds}, with all misses loaded by a single call
+     * to {@code loader}. Trips the loader does not return are left out.
+     */
+    public Map<Long, TripDto> getAll(Collection<Long> tripIds, Function<Set<Long>, Map<Long, TripDto>> loader) {
+        return CacheLoads.getAllOrLoad(cache, tripIds, loader);
+    }
+    
+    /** Present only if already cached; never loads. */
+    public Optional<TripDto> getIfPresent(Long tripId) {
+        CompletableFuture<TripDto> future = cache.getIfPresent(tripId);
+        return future != null && future.isDone() && !future.isCompletedExceptionally()
+                ? Optional.ofNullable(future.join())
+                : Optional.empty();
+    }
+    
+    public void evict(Long tripId) {
+        invalidate(CacheInvalidation.Scope.KEY, tripId);
+    }
+    
+    public void evictByAuthor(Long authorId) {
+        invalidate(CacheInvalidation.Scope.AUTHOR, authorId);
+    }
+    
+    // หลัง commit เท่านั้น: ถ้า evict ก่อน commit คนอ่านอาจโหลดค่าเก่ากลับเข้ามาได้
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        if (event.type() != TripChangedEvent.Type.CREATED) {
+            evict(event.tripId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictByAuthor(event.userId());
+    }
+    
+    private void invalidate(CacheInvalidation.Scope scope, Long id) {
+        localInvalidations.increment();
+        remove(scope, id);
+        invalidationBus.publish(new CacheInvalidation(NAME, scope, id, nodeId));
+    }
+    
+    private void onRemoteInvalidation(CacheInvalidation invalidation) {
+        if (!NAME.equals(invalidation.cache()) || nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        remoteInvalidations.increment();
+        remove(invalidation.scope(), invalidation.id());
+    }
+    
+    private void remove(CacheInvalidation.Scope scope, Long id) {
+        if (scope == CacheInvalidation.Scope.KEY) {
+            cache.synchronous().invalidate(id);
+            return;
+        }
+        // user เปลี่ยนไม่บ่อย การไล่ดูทั้ง cache จึงคุ้มกว่าการเก็บ index author -> trip เพิ่ม
+        cache.asMap().values().removeIf(future -> CacheLoads.loadingOrMatches(future, trip -> id.equals(trip.getAuthorId())));
+    }
+}
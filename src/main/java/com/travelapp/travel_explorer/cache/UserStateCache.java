@@ -0,0 +1,69 @@
+package com.travelapp.travel_explorer.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.travelapp.travel_explorer.dto.UserDto;
+import com.travelapp.travel_explorer.event.UserChangedEvent;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of user state by id. The JWT filter checks it on every
+ * authenticated request, so a valid token costs no database round-trip once the
+ * user is cached. Entries are dropped on {@link UserChangedEvent} and in any case
+ * after the TTL.
+ */
+@Component
+public class UserStateCache {
+    
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, UserDto> cache;
+    
+    public UserStateCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${users.state-cache.ttl:5m}") Duration ttl,
+                          @Value("${users.state-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.state");
+    }
+    
+    /** Empty if the user no longer exists. Missing users are not cached. */
+    public Optional<UserDto> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(CacheLoads.getOrLoad(cache, userId, this::load));
+    }
+    
+    public void evict(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+    
+    private UserDto load(Long userId) {
+        return userRepository.findById(userId)
+                .map(user -> new UserDto(
+                        user.getId(),
+                        user.getEmail(),
+                        user.getDisplayName(),
+                        user.getCreatedAt()
+                ))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.travelapp.travel_explorer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+    
+    @Value("${mvc.async.threads:16}")
+    private int threads;
+    
+    @Value("${mvc.async.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    /**
+     * Executor for streaming responses (export, NDJSON). Boot's own task executor
+     * backs off because the image and upload pools are {@code Executor} beans, and
+     * Spring MVC would otherwise start a new thread for every streamed response.
+     */
+    @Bean
+    public AsyncTaskExecutor mvcAsyncExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
@@ -0,0 +1,103 @@
+package com.travelapp.travel_explorer.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts a fair semaphore with as many permits as the pool has connections in
+ * front of the DataSource.
+ *
+ * <p>With virtual threads there is no request-thread limit. Thousands of
+ * requests can reach the pool at once, and each of them would spin through
+ * Hikari's hand-off queue until its own connection timeout. Here the extra
+ * callers park on the semaphore in arrival order, which is cheap for a
+ * virtual thread. Only callers holding a permit ever touch the pool. The
+ * permit is returned when the connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    
+    public ConnectionLimitingDataSource(DataSource target, int maxConnections, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+    
+    /** Callers currently waiting for a permit; exported as a metric. */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + acquireTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+    
+    private interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+    
+    private Connection limited(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        if (!released.compareAndSet(false, true)) {
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,116 @@
+package com.travelapp.travel_explorer.config;
+
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves {@code trips} and {@code users} from identity columns to the pooled
+ * sequences the entities now use, keeping every existing id. Runs at
+ * start-up on Postgres, after Hibernate's schema update and before the web
+ * server accepts requests. It first reads the column and sequence state from
+ * {@code information_schema.columns} and {@code pg_sequences} and issues only
+ * the DDL that is still missing. Once migrated, a start takes no table lock,
+ * only a few catalog reads and {@code MAX(id)} over the primary key.
+ *
+ * <p>Hibernate's pooled optimizer turns each {@code nextval} result {@code v}
+ * into the ids {@code (v - allocationSize, v]}, so the sequence only has to
+ * stay at or above the largest id already in the table. Each sequence is
+ * created or altered with its entity's own allocation size.
+ */
+@Slf4j
+@Component
+public class IdSequenceMigration {
+    
+    private record IdSequence(String name, int increment) {
+    }
+    
+    private static final Map<String, IdSequence> SEQUENCE_BY_TABLE = Map.of(
+            "trips", new IdSequence(Trip.ID_SEQUENCE, Trip.ID_ALLOCATION_SIZE),
+            "users", new IdSequence(User.ID_SEQUENCE, User.ID_ALLOCATION_SIZE));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    // รับ EntityManagerFactory เพื่อให้รันหลัง Hibernate สร้าง/อัปเดต schema เสร็จแล้ว
+    public IdSequenceMigration(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @PostConstruct
+    void migrate() {
+        if (!isPostgres()) {
+            // ฐานข้อมูลของ test (H2) สร้าง sequence จาก schema ของตัวเองอยู่แล้ว
+            return;
+        }
+        SEQUENCE_BY_TABLE.forEach((table, sequence) -> migrate(table, sequence.name(), sequence.increment()));
+    }
+    
+    private void migrate(String table, String sequence, int increment) {
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+                "SELECT is_identity, column_default FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'", table);
+        if (columns.isEmpty()) {
+            log.warn("Table {} has no id column; skipping id sequence migration", table);
+            return;
+        }
+        boolean identity = "YES".equals(columns.get(0).get("is_identity"));
+        Object columnDefault = columns.get(0).get("column_default");
+        boolean defaultSet = columnDefault != null && columnDefault.toString().contains("'" + sequence + "'");
+        List<Long> incrementBy = jdbcTemplate.queryForList(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, sequence);
+        
+        // DDL เฉพาะส่วนที่ยังไม่ได้ทำ: ALTER TABLE ล็อกตารางแบบ ACCESS EXCLUSIVE จึงต้องไม่รันทุกครั้งที่ start
+        if (incrementBy.isEmpty()) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY " + increment);
+        } else if (incrementBy.get(0) != increment) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + increment);
+        }
+        // id ไม่มาจาก identity อีกแล้ว insert ด้วย SQL ตรง ๆ ที่ไม่ใส่ id จะได้ค่าจาก sequence เดียวกัน (ไม่ชนกับช่วงที่ Hibernate จองไว้)
+        List<String> alterations = new ArrayList<>();
+        if (identity) {
+            alterations.add("ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+        if (!defaultSet) {
+            alterations.add("ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        }
+        if (!alterations.isEmpty()) {
+            // รวมเป็นคำสั่งเดียว: ล็อกตารางครั้งเดียว
+            jdbcTemplate.execute("ALTER TABLE " + table + " " + String.join(", ", alterations));
+            log.info("Migrated {}.id to sequence {}: {}", table, sequence, alterations);
+        }
+        
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        boolean called = (Boolean) state.get("is_called");
+        
+        // ช่วงถัดไปที่ Hibernate จะได้เริ่มที่ lastValue + 1 (หรือ 1 ถ้ายังไม่เคยเรียก) ต้องอยู่เหนือ id ที่มีแล้ว
+        // ตอนเพิ่งเลิกใช้ identity ให้ setval เสมอ: id เดิมทั้งหมดมาจาก identity ไม่ใช่จาก sequence นี้
+        if (identity || !called || lastValue < maxId) {
+            long aligned = Math.max(Math.max(maxId, lastValue), 1);
+            jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?, true)", Long.class, aligned);
+            log.info("Aligned sequence {} with {}.id: next ids start after {}", sequence, table, aligned);
+        }
+    }
+    
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not detect the database product; skipping id sequence migration", e);
+            return false;
+        }
+    }
+}
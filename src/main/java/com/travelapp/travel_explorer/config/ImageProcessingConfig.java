@@ -0,0 +1,34 @@
+package com.travelapp.travel_explorer.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(ImageProperties.class)
+public class ImageProcessingConfig {
+    
+    /**
+     * Bounded pool for decoding and resizing. Every running task holds a decoded
+     * bitmap, so the pool size is also the cap on bitmap memory. When the queue
+     * is full, submissions are rejected rather than queued without limit.
+     * The pool stays on platform threads even in virtual-thread mode, because
+     * the work is CPU-bound and the bitmap-memory cap depends on the pool size.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService imageProcessingExecutor(ImageProperties properties) {
+        return new ThreadPoolExecutor(
+                properties.workerThreads(),
+                properties.workerThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("image-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
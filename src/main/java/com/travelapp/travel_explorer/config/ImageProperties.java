@@ -0,0 +1,49 @@
+package com.travelapp.travel_explorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for the server-side image pipeline ({@code image.*}).
+ *
+ * @param renditions     rendition name to longest edge in pixels; images are never upscaled
+ * @param quality        JPEG quality for renditions, 0.0–1.0
+ * @param workerThreads  images decoded at the same time; each holds a full bitmap in memory
+ * @param queueCapacity  images waiting for a worker before uploads are rejected with 503
+ * @param maxPixels      larger images are stored without renditions instead of being decoded
+ */
+@ConfigurationProperties(prefix = "image")
+public record ImageProperties(
+        Map<String, Integer> renditions,
+        float quality,
+        int workerThreads,
+        int queueCapacity,
+        long maxPixels) {
+    
+    public ImageProperties {
+        if (renditions == null || renditions.isEmpty()) {
+            renditions = new LinkedHashMap<>();
+            renditions.put("thumbnail", 320);
+            renditions.put("card", 800);
+            renditions.put("full", 2048);
+        }
+        if (quality <= 0 || quality > 1) {
+            quality = 0.82f;
+        }
+        if (workerThreads <= 0) {
+            workerThreads = Runtime.getRuntime().availableProcessors();
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = 32;
+        }
+        if (maxPixels <= 0) {
+            maxPixels = 50_000_000L;
+        }
+    }
+    
+    public int largestRendition() {
+        return renditions.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+}
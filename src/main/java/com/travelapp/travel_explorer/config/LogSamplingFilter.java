@@ -0,0 +1,47 @@
+package com.travelapp.travel_explorer.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that lets through at most {@code maxPerSecond} events per
+ * second and drops the rest. Used on the slow-query appender: when the
+ * database slows down, every statement is slow and logging each one would add
+ * to the problem.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+    
+    private int maxPerSecond = 20;
+    
+    // 32 บิตบน = วินาที, 32 บิตล่าง = จำนวนที่ผ่านไปแล้วในวินาทีนั้น
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+    
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        long second = event.getTimeStamp() / 1000;
+        while (true) {
+            long current = window.get();
+            long count = (current >>> 32) == (second & 0xFFFFFFFFL) ? current & 0xFFFFFFFFL : 0;
+            if (count >= maxPerSecond) {
+                dropped.incrementAndGet();
+                return FilterReply.DENY;
+            }
+            long next = ((second & 0xFFFFFFFFL) << 32) | (count + 1);
+            if (window.compareAndSet(current, next)) {
+                return FilterReply.NEUTRAL;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.travelapp.travel_explorer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC connection pool for the non-blocking read path under {@code /api/rx/trips}.
+ * JPA keeps its own Hikari pool. The pool is deliberately not a bean: a
+ * {@code ConnectionFactory} bean makes Boot back off from creating the JDBC
+ * {@code DataSource}, and Boot's R2DBC auto-configuration is excluded so its
+ * reactive transaction manager cannot displace the JPA one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "trips.reactive.enabled", havingValue = "true")
+public class ReactiveTripConfig {
+    
+    private ConnectionPool connectionPool;
+    
+    @Bean
+    public DatabaseClient reactiveTripDatabaseClient(
+            @Value("${trips.reactive.url:}") String url,
+            @Value("${spring.datasource.url:}") String jdbcUrl,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${trips.reactive.pool-size:10}") int poolSize,
+            MeterRegistry meterRegistry) {
+        // ไม่ได้ตั้ง url แยก ก็แปลงจาก JDBC url เดิม (jdbc:postgresql://... -> r2dbc:postgresql://...)
+        String r2dbcUrl = url.isBlank() ? jdbcUrl.replaceFirst("^jdbc:", "r2dbc:") : url;
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+        if (!username.isBlank()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isBlank()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("trips-reactive")
+                .maxSize(poolSize)
+                .build());
+        // metric r2dbc.pool.* (acquired, pending, ...) ไว้เทียบกับ hikari.connections.*
+        new ConnectionPoolMetrics(connectionPool, "trips-reactive", Tags.empty()).bindTo(meterRegistry);
+        return DatabaseClient.create(connectionPool);
+    }
+    
+    @PreDestroy
+    void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
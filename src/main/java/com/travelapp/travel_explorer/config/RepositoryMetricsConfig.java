@@ -0,0 +1,91 @@
+package com.travelapp.travel_explorer.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Rows returned per Spring Data repository method as {@code repository.rows}
+ * (tags {@code repository}, {@code method}). Timing per method comes from Spring
+ * Boot's {@code spring.data.repository.invocations}; together they show which
+ * queries are slow because they are large and which are slow per row.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    // static: BeanPostProcessor ต้องถูกสร้างก่อน repository
+    @Bean
+    static BeanPostProcessor repositoryRowMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(rowCounting(
+                                    meterRegistry.getObject(), information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor rowCounting(MeterRegistry meterRegistry, String repository) {
+        return invocation -> {
+            Object result = invocation.proceed();
+            String method = invocation.getMethod().getName();
+            if (method.startsWith("save") || method.startsWith("delete")) {
+                return result;
+            }
+            if (result instanceof Stream<?> stream) {
+                // stream ถูกอ่านทีหลัง: นับตอนผู้เรียกปิด stream
+                AtomicLong rows = new AtomicLong();
+                DistributionSummary summary = summary(meterRegistry, repository, method);
+                return stream.peek(row -> rows.incrementAndGet()).onClose(() -> summary.record(rows.get()));
+            }
+            long rows = rows(result);
+            if (rows >= 0) {
+                summary(meterRegistry, repository, method).record(rows);
+            }
+            return result;
+        };
+    }
+
+    // -1 = ไม่ใช่ผลลัพธ์ที่เป็นแถว (count, exists, void, จำนวนแถวที่ update)
+    private static long rows(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private static DistributionSummary summary(MeterRegistry meterRegistry, String repository, String method) {
+        return DistributionSummary.builder("repository.rows")
+                .description("Rows returned by a repository method")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
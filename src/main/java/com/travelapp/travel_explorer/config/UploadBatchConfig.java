@@ -0,0 +1,37 @@
+package com.travelapp.travel_explorer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UploadBatchConfig {
+    
+    /**
+     * Shared I/O pool for batch uploads. Workers mostly wait on storage, which
+     * has its own concurrency limit. When every thread is busy, the request
+     * thread runs the work itself, so a batch slows down instead of failing.
+     * In virtual-thread mode every transfer gets its own virtual thread; the
+     * per-batch parallelism and the storage permits remain the limits.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService uploadBatchExecutor(@Value("${upload.batch.worker-threads:16}") int workerThreads,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upload-batch-", 0).factory());
+        }
+        return new ThreadPoolExecutor(
+                0, workerThreads,
+                60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory("upload-batch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
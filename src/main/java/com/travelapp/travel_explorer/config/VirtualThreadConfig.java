@@ -0,0 +1,42 @@
+package com.travelapp.travel_explorer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Safeguards that apply only when {@code spring.threads.virtual.enabled=true}.
+ * Spring Boot itself then runs Tomcat requests, and with them the JWT filter
+ * and the blocking storage and JDBC calls, on virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    
+    // static: BeanPostProcessor ต้องถูกสร้างก่อน bean อื่น ๆ ใน config นี้
+    @Bean
+    static BeanPostProcessor connectionLimitingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                        hikari, hikari.getMaximumPoolSize(), Duration.ofMillis(hikari.getConnectionTimeout()));
+                meterRegistry.ifAvailable(registry -> Gauge
+                        .builder("db.connections.waiting", limited, ConnectionLimitingDataSource::getQueueLength)
+                        .description("Virtual threads waiting for a connection permit")
+                        .register(registry));
+                return limited;
+            }
+        };
+    }
+}
@@ -4,11 +4,13 @@ import com.travelapp.travel_explorer.dto.AuthResponse;
 import com.travelapp.travel_explorer.dto.LoginRequest;
 import com.travelapp.travel_explorer.dto.RegisterRequest;
 import com.travelapp.travel_explorer.dto.UserDto;
+import com.travelapp.travel_explorer.security.AuthenticatedUser;
 import com.travelapp.travel_explorer.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,15 +27,15 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // หลัง proxy ให้ตั้ง server.forward-headers-strategy เพื่อให้ remoteAddr เป็น IP ของ client จริง
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
     
     @GetMapping("/me")
-    public ResponseEntity<UserDto> getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        UserDto user = authService.getCurrentUser(username);
+    public ResponseEntity<UserDto> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UserDto user = authService.getCurrentUser(principal.id());
         return ResponseEntity.ok(user);
     }
 }
@@ -0,0 +1,72 @@
+package com.travelapp.travel_explorer.controller;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.repository.TripVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Strong ETags for trip responses. They are computed from the values that
+ * change the JSON (id, updatedAt, author display name), never from the
+ * serialized body.
+ */
+final class ETags {
+    
+    private ETags() {
+    }
+    
+    static String forTrip(TripVersion version) {
+        return "\"" + version.id() + "-" + micros(version.updatedAt())
+                + "-" + Integer.toHexString(Objects.hashCode(version.authorDisplayName())) + "\"";
+    }
+    
+    static String forTrip(TripDto trip) {
+        return forTrip(versionOf(trip));
+    }
+    
+    // updatedAt ว่างใช้ createdAt แทน ให้ตรงกับ COALESCE ใน TripRepository.findVersionById
+    static TripVersion versionOf(TripDto trip) {
+        return new TripVersion(trip.getId(),
+                trip.getUpdatedAt() != null ? trip.getUpdatedAt() : trip.getCreatedAt(),
+                trip.getAuthorDisplayName());
+    }
+    
+    /** One tag per page: any added, removed, reordered or edited item changes it. */
+    static String forTrips(List<TripDto> trips, String nextCursor) {
+        MessageDigest digest = sha256();
+        for (TripDto trip : trips) {
+            digest.update(forTrip(trip).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(String.valueOf(nextCursor).getBytes(StandardCharsets.UTF_8));
+        // 128 bit พอสำหรับแยกหน้าต่างกัน ไม่ต้องส่ง hash เต็ม
+        return "\"p-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+    
+    static long lastModified(OffsetDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant().toEpochMilli() : -1;
+    }
+    
+    // DB เก็บละเอียดระดับ microsecond: ตัดให้ตรงกันไม่ว่าค่าจะมาจาก DB หรือจาก entity ในหน่วยความจำ
+    private static long micros(OffsetDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0;
+        }
+        Instant instant = updatedAt.toInstant();
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.travelapp.travel_explorer.controller;
 
-import com.travelapp.travel_explorer.service.SupabaseStorageService;
+import com.travelapp.travel_explorer.dto.BatchUploadResponse;
+import com.travelapp.travel_explorer.dto.ImageUploadResponse;
+import com.travelapp.travel_explorer.service.BatchUploadService;
+import com.travelapp.travel_explorer.service.ImageUploadService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Map;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/files")  // เส้นนี้ต้องแนบ JWT ตาม SecurityConfig
 @RequiredArgsConstructor
 public class FileUploadController {
 
-  private final SupabaseStorageService supabaseStorageService;
+  private final ImageUploadService imageUploadService;
+  private final BatchUploadService batchUploadService;
 
   @PostMapping("/upload")
-  public ResponseEntity<Map<String, String>> upload(@RequestParam("file") MultipartFile file) {
-    String url = supabaseStorageService.uploadFile(file);
-    return ResponseEntity.ok(Map.of("url", url));
+  public ResponseEntity<ImageUploadResponse> upload(@RequestParam("file") MultipartFile file) {
+    return ResponseEntity.ok(imageUploadService.upload(file));
+  }
+
+  // หลายไฟล์ใน request เดียว: 200 เมื่อสำเร็จทุกไฟล์, 207 เมื่อบางไฟล์ล้มเหลว (ดู error ของแต่ละไฟล์)
+  @PostMapping("/upload/batch")
+  public ResponseEntity<BatchUploadResponse> uploadBatch(@RequestParam("files") List<MultipartFile> files) {
+    BatchUploadResponse response = batchUploadService.upload(files);
+    HttpStatus status = response.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+    return ResponseEntity.status(status).body(response);
   }
 }
@@ -0,0 +1,65 @@
+package com.travelapp.travel_explorer.controller;
+
+import com.travelapp.travel_explorer.dto.StreamedTripDto;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.security.AuthenticatedUser;
+import com.travelapp.travel_explorer.service.ReactiveTripService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streaming read API for trips, enabled with {@code trips.reactive.enabled=true}.
+ * Lists are written as NDJSON when the client asks for
+ * {@code application/x-ndjson}, and as server-sent events otherwise; each trip
+ * is flushed as soon as the database returns it. Every listed trip carries the cursor that continues after it: a
+ * {@code cursor} field in NDJSON, the event {@code id} in SSE (so a reconnect
+ * with {@code Last-Event-ID} resumes where the stream stopped).
+ */
+@RestController
+@RequestMapping("/api/rx/trips")
+@ConditionalOnProperty(name = "trips.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTripController {
+    
+    private final ReactiveTripService reactiveTripService;
+    
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<?> streamTrips(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        String resumeAfter = cursor != null ? cursor : lastEventId;
+        Flux<StreamedTripDto> trips = query != null && !query.trim().isEmpty()
+                ? reactiveTripService.searchTrips(query.trim(), resumeAfter, limit)
+                : reactiveTripService.streamTrips(resumeAfter, limit);
+        if (!wantsEventStream(accept)) {
+            return trips;
+        }
+        return trips.map(item -> ServerSentEvent.builder(item.getTrip()).id(item.getCursor()).build());
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<TripDto> getTripById(@PathVariable Long id) {
+        return reactiveTripService.getTripById(id);
+    }
+    
+    @GetMapping(value = "/mine", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TripDto> getMyTrips(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return reactiveTripService.getMyTrips(principal.id());
+    }
+    
+    // กฎเดียวกับที่ Spring MVC ใช้เลือก SSE: Accept ที่รับ text/event-stream ได้ (รวม */* หรือไม่ส่งมา) ได้ SSE
+    private static boolean wantsEventStream(String accept) {
+        return accept == null || MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.TEXT_EVENT_STREAM::isCompatibleWith);
+    }
+}
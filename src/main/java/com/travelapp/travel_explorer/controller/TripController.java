@@ -1,14 +1,33 @@
 package com.travelapp.travel_explorer.controller;
 
+import com.travelapp.travel_explorer.dto.NearbyTripDto;
+import com.travelapp.travel_explorer.dto.TripClusterDto;
 import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripImportResponse;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.dto.TripSuggestionDto;
+import com.travelapp.travel_explorer.geo.GeoBox;
+import com.travelapp.travel_explorer.repository.TripVersion;
+import com.travelapp.travel_explorer.security.AuthenticatedUser;
+import com.travelapp.travel_explorer.service.TripExportService;
+import com.travelapp.travel_explorer.service.TripImportService;
 import com.travelapp.travel_explorer.service.TripService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/trips")
@@ -16,25 +35,112 @@ import java.util.List;
 public class TripController {
     
     private final TripService tripService;
+    private final TripExportService tripExportService;
+    private final TripImportService tripImportService;
     
     @GetMapping
-    public ResponseEntity<List<TripDto>> getAllTrips(
-            @RequestParam(required = false) String query) {
+    public ResponseEntity<?> getAllTrips(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean all,
+            WebRequest request) {
         if (query != null && !query.trim().isEmpty()) {
-            return ResponseEntity.ok(tripService.searchTrips(query.trim()));
+            return conditional(tripService.searchTrips(query.trim(), cursor, limit), request);
         }
-        return ResponseEntity.ok(tripService.getAllTrips());
+        // ✅ โหลดทั้งตารางเฉพาะเมื่อ client ขอเองด้วย all=true
+        if (all) {
+            List<TripDto> trips = tripService.getAllTrips();
+            if (request.checkNotModified(ETags.forTrips(trips, null))) {
+                return null;
+            }
+            return ResponseEntity.ok(trips);
+        }
+        return conditional(tripService.getTripPage(cursor, limit), request);
+    }
+    
+    // ช่องค้นหาแบบพิมพ์ไปเสนอไป: tag และชื่อ trip ที่มีคำขึ้นต้นด้วย prefix
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TripSuggestionDto>> suggest(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tripService.suggest(prefix, limit));
+    }
+    
+    // สำหรับแผนที่: trip ในรัศมีรอบจุด เรียงจากใกล้ไปไกล
+    @GetMapping("/near")
+    public ResponseEntity<List<NearbyTripDto>> getTripsNear(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tripService.findTripsNear(lat, lng, radiusKm, limit));
+    }
+    
+    // สำหรับแผนที่: trip ในกรอบที่มองเห็น (minLng > maxLng = กรอบที่ข้ามเส้น 180 องศา)
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyTripDto>> getTripsWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tripService.findTripsWithin(new GeoBox(minLat, minLng, maxLat, maxLng), limit));
+    }
+    
+    // สำหรับแผนที่ที่ซูมออก: จำนวน trip ต่อ cell ในกรอบที่มองเห็น (จำนวน cluster ถูกจำกัดตามกรอบ ไม่ใช่ตามจำนวน trip)
+    @GetMapping("/clusters")
+    public ResponseEntity<List<TripClusterDto>> getTripClusters(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(tripService.findTripClusters(new GeoBox(minLat, minLng, maxLat, maxLng), zoom));
+    }
+    
+    // สำหรับงาน analytics / backup: ส่งทุก trip แบบ stream ไม่โหลดทั้งตารางเข้าหน่วยความจำ
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTrips(@RequestParam(defaultValue = "ndjson") String format) {
+        TripExportService.Format exportFormat = TripExportService.Format.parse(format);
+        StreamingResponseBody body = out -> tripExportService.export(exportFormat, out);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (exportFormat == TripExportService.Format.JSON_GZIP) {
+            response.contentType(MediaType.parseMediaType("application/gzip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trips.json.gz\"");
+        } else {
+            response.contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trips.ndjson\"");
+        }
+        return response.body(body);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<TripDto> getTripById(@PathVariable Long id) {
-        return ResponseEntity.ok(tripService.getTripById(id));
+    public ResponseEntity<TripDto> getTripById(@PathVariable Long id, WebRequest request) {
+        // ETag/Last-Modified ต้องมาจาก DTO ตัวที่ส่งกลับจริง: ช่วงระหว่าง commit กับการล้าง cache
+        // version ใน DB อาจใหม่กว่า body ใน cache แล้ว client จะเก็บ body เก่าไว้ใต้ ETag ใหม่
+        Optional<TripDto> cached = tripService.getCachedTrip(id);
+        if (cached.isEmpty()) {
+            // ✅ ไม่อยู่ใน cache: ตรวจ If-None-Match / If-Modified-Since จาก version ก่อน ไม่ต้องโหลด trip ถ้าไม่มีอะไรเปลี่ยน
+            TripVersion version = tripService.getTripVersion(id);
+            if (request.checkNotModified(ETags.forTrip(version), ETags.lastModified(version.updatedAt()))) {
+                return null;
+            }
+        }
+        TripDto trip = cached.orElseGet(() -> tripService.getTripById(id));
+        // Spring ตรวจ If-None-Match / If-Modified-Since กับ header ชุดนี้อีกรอบ และตอบ 304 เองถ้าตรง
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETags.forTrip(trip));
+        long lastModified = ETags.lastModified(ETags.versionOf(trip).updatedAt());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(trip);
     }
     
     @GetMapping("/mine")
-    public ResponseEntity<List<TripDto>> getMyTrips(Authentication authentication) {
-        String username = authentication.getName();
-        return ResponseEntity.ok(tripService.getMyTrips(username));
+    public ResponseEntity<List<TripDto>> getMyTrips(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(tripService.getMyTrips(principal.id()));
     }
     
     @PostMapping
@@ -45,6 +151,16 @@ public class TripController {
         return ResponseEntity.ok(tripService.createTrip(tripDto, username));
     }
     
+    // นำเข้า trip จำนวนมาก (NDJSON หรือ JSON array) เป็นของผู้ใช้ที่ login: 200 เมื่อผ่านทุก record, 207 เมื่อบาง record ไม่ผ่าน
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TripImportResponse> importTrips(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        TripImportResponse response = tripImportService.importTrips(body, principal.id());
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<TripDto> updateTrip(
             @PathVariable Long id,
@@ -62,4 +178,12 @@ public class TripController {
         tripService.deleteTrip(id, username);
         return ResponseEntity.noContent().build();
     }
+    
+    // รายการไม่มี Last-Modified: การลบ trip ไม่ได้ขยับ timestamp ใด ๆ จึงใช้ ETag ของทั้งหน้าอย่างเดียว
+    private ResponseEntity<TripPage> conditional(TripPage page, WebRequest request) {
+        if (request.checkNotModified(ETags.forTrips(page.getItems(), page.getNextCursor()))) {
+            return null;
+        }
+        return ResponseEntity.ok(page);
+    }
 }
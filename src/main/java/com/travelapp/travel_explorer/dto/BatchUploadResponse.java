@@ -0,0 +1,20 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUploadResponse {
+    
+    // ผลของแต่ละไฟล์ เรียงตามลำดับที่ส่งมา
+    private List<BatchUploadResult> results;
+    
+    private int succeeded;
+    
+    private int failed;
+}
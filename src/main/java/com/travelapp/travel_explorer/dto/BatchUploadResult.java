@@ -0,0 +1,26 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUploadResult {
+    
+    // ลำดับของไฟล์ใน request (เริ่มที่ 0)
+    private int index;
+    
+    private String filename;
+    
+    // null เมื่อไฟล์นี้อัปโหลดไม่สำเร็จ
+    private String url;
+    
+    private Map<String, String> renditions;
+    
+    // ข้อความ error ของไฟล์นี้ (null เมื่อสำเร็จ)
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadResponse {
+    
+    // URL ของไฟล์ต้นฉบับ (ใช้เก็บลง Trip.photos เหมือนเดิม)
+    private String url;
+    
+    // ชื่อ rendition -> URL เช่น thumbnail, card, full (ว่างถ้าประมวลผลรูปไม่ได้)
+    private Map<String, String> renditions;
+}
@@ -0,0 +1,19 @@
+package com.travelapp.travel_explorer.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTripDto {
+    
+    // ฟิลด์ของ trip อยู่ระดับเดียวกับ distanceKm ใน JSON
+    @JsonUnwrapped
+    private TripDto trip;
+    
+    // ระยะจากจุดที่ค้นหา (หรือจุดกึ่งกลางกล่อง) เป็นกิโลเมตร
+    private double distanceKm;
+}
@@ -0,0 +1,19 @@
+package com.travelapp.travel_explorer.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamedTripDto {
+    
+    // ฟิลด์ของ trip อยู่ระดับเดียวกับ cursor ใน NDJSON
+    @JsonUnwrapped
+    private TripDto trip;
+    
+    // ส่งกลับเป็น cursor เพื่ออ่านต่อจาก trip นี้ (เป็น id ของ event เมื่อส่งแบบ SSE)
+    private String cursor;
+}
@@ -0,0 +1,21 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripClusterDto {
+    
+    // จุดศูนย์กลาง (ค่าเฉลี่ยพิกัด) ของ trip ใน cluster
+    private double latitude;
+    
+    private double longitude;
+    
+    private int count;
+    
+    // trip ตัวอย่างหนึ่งตัวใน cluster ใช้แสดง preview หรือเมื่อ count = 1
+    private Long sampleTripId;
+}
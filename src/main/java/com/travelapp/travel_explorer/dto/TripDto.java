@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -22,6 +24,9 @@ public class TripDto {
     // ไม่ต้อง @NotNull เพื่อให้รองรับ Partial Update
     private String[] photos;
     
+    // rendition URL ของแต่ละรูปใน photos (ลำดับเดียวกัน) ใช้รูปเล็กในหน้า list; map ว่างถ้ารูปไม่มี rendition
+    private List<Map<String, String>> photoRenditions;
+    
     private String[] tags;
     
     private Double latitude;
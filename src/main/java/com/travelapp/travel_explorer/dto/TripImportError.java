@@ -0,0 +1,16 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripImportError {
+    
+    // ลำดับของ record ใน request (เริ่มที่ 0)
+    private long index;
+    
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripImportResponse {
+    
+    private long imported;
+    
+    private long failed;
+    
+    // error ของ record ที่ไม่ผ่าน เก็บไว้ไม่เกินจำนวนที่กำหนด (failed คือจำนวนจริงทั้งหมด)
+    private List<TripImportError> errors;
+    
+    // true เมื่ออ่าน request ต่อไม่ได้ (JSON เสีย) record หลังจากจุดนั้นจึงไม่ถูกนำเข้า
+    private boolean aborted;
+    
+    private long elapsedMs;
+    
+    private long tripsPerSecond;
+}
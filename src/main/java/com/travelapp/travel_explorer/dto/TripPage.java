@@ -0,0 +1,18 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPage {
+    
+    private List<TripDto> items;
+    
+    // null เมื่อไม่มีหน้าถัดไปแล้ว
+    private String nextCursor;
+}
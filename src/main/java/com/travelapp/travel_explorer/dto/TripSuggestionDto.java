@@ -0,0 +1,20 @@
+package com.travelapp.travel_explorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripSuggestionDto {
+    
+    // ข้อความตามที่ผู้ใช้พิมพ์ไว้ใน trip (ไม่ใช่แบบ normalize)
+    private String text;
+    
+    // "tag" หรือ "title"
+    private String type;
+    
+    // จำนวน trip ที่มี tag / ชื่อนี้
+    private int count;
+}
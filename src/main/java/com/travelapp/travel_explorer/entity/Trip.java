@@ -10,14 +10,23 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        @Index(name = "idx_trips_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_trips_lat_lng", columnList = "latitude, longitude")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Trip {
     
+    // ✅ ใช้ sequence แบบจองเป็นช่วง: Hibernate รู้ id ก่อน insert จึงรวม insert เป็น JDBC batch ได้
+    // ค่านี้ต้องตรงกับ INCREMENT BY ของ sequence (ดู IdSequenceMigration)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE = "trips_seq";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, columnDefinition = "TEXT")
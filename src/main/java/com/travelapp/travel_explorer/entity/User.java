@@ -1,5 +1,6 @@
 package com.travelapp.travel_explorer.entity;
 
+import com.travelapp.travel_explorer.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,13 +11,19 @@ import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     
+    // ค่านี้ต้องตรงกับ INCREMENT BY ของ sequence (ดู IdSequenceMigration)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE = "users_seq";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, unique = true)
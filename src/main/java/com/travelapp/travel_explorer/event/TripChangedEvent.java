@@ -0,0 +1,30 @@
+package com.travelapp.travel_explorer.event;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+
+/**
+ * Published by {@code TripService} after every trip write. In-memory indexes
+ * listen for it (after commit) to stay in sync with the database.
+ *
+ * @param trip the trip as it is after the change; {@code null} for deletes
+ */
+public record TripChangedEvent(Type type, Long tripId, TripDto trip) {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    public static TripChangedEvent created(TripDto trip) {
+        return new TripChangedEvent(Type.CREATED, trip.getId(), trip);
+    }
+    
+    public static TripChangedEvent updated(TripDto trip) {
+        return new TripChangedEvent(Type.UPDATED, trip.getId(), trip);
+    }
+    
+    public static TripChangedEvent deleted(Long tripId) {
+        return new TripChangedEvent(Type.DELETED, tripId, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.travelapp.travel_explorer.event;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+
+import java.util.List;
+
+/**
+ * An in-memory structure derived from the trips table. Implementations are
+ * warmed once at startup and then kept current from {@link TripChangedEvent}s;
+ * both are driven by {@code TripIndexCoordinator}.
+ */
+public interface TripIndex {
+    
+    /** Adds a batch of existing trips during warm-up. */
+    void load(List<TripDto> batch);
+    
+    /** Drops everything loaded so far, before a failed warm-up is retried. */
+    void reset();
+    
+    /** Called once every existing trip has been loaded. */
+    void markReady();
+    
+    boolean isReady();
+    
+    /** Applies a committed change. May arrive before or during warm-up. */
+    void apply(TripChangedEvent event);
+}
@@ -0,0 +1,8 @@
+package com.travelapp.travel_explorer.event;
+
+/**
+ * Published whenever a user row is updated or deleted, so caches holding user
+ * state can drop it.
+ */
+public record UserChangedEvent(Long userId) {
+}
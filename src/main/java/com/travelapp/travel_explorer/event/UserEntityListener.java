@@ -0,0 +1,26 @@
+package com.travelapp.travel_explorer.event;
+
+import com.travelapp.travel_explorer.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}. Hibernate resolves it as a Spring bean, so any
+ * change made through JPA, whichever service made it, invalidates cached user
+ * state.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
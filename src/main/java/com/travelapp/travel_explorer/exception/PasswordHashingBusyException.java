@@ -0,0 +1,7 @@
+package com.travelapp.travel_explorer.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.travelapp.travel_explorer.exception;
+
+public class StorageBusyException extends RuntimeException {
+    public StorageBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,150 @@
+package com.travelapp.travel_explorer.feed;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import com.travelapp.travel_explorer.service.TripCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The newest trips, in listing order, kept in memory so the first pages of
+ * {@code GET /api/trips} need no database round-trip.
+ *
+ * <p>The feed is always an exact prefix of the table ordered by
+ * {@code (created_at DESC, id DESC)}. A page is served from it only when it
+ * lies entirely inside that prefix, or when the feed holds every trip. Other
+ * pages go to the repository. Readers take the current array without locking;
+ * writers replace it with a copy.
+ */
+@Component
+public class LatestTripsFeed implements TripIndex {
+    
+    public static final Comparator<TripDto> NEWEST_FIRST = Comparator
+            .comparing((TripDto trip) -> trip.getCreatedAt().toInstant(), Comparator.reverseOrder())
+            .thenComparing(TripDto::getId, Comparator.reverseOrder());
+    
+    private final int capacity;
+    private volatile Snapshot snapshot = new Snapshot(new TripDto[0], false);
+    private volatile boolean ready;
+    
+    /**
+     * @param items    newest first
+     * @param complete true when {@code items} is the whole table, so a short page means the end
+     */
+    private record Snapshot(TripDto[] items, boolean complete) {
+    }
+    
+    public LatestTripsFeed(@Value("${trips.feed.size:200}") int capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public synchronized void load(List<TripDto> batch) {
+        List<TripDto> merged = new ArrayList<>(Arrays.asList(snapshot.items()));
+        merged.addAll(batch);
+        merged.sort(NEWEST_FIRST);
+        snapshot = new Snapshot(truncate(merged), false);
+    }
+    
+    @Override
+    public synchronized void markReady() {
+        // warm-up โหลดได้ไม่ถึงความจุ แปลว่า feed มีครบทุก trip ในตาราง
+        snapshot = new Snapshot(snapshot.items(), snapshot.items().length < capacity);
+        ready = true;
+    }
+    
+    @Override
+    public synchronized void reset() {
+        snapshot = new Snapshot(new TripDto[0], false);
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public synchronized void apply(TripChangedEvent event) {
+        List<TripDto> items = new ArrayList<>(Arrays.asList(snapshot.items()));
+        boolean wasPresent = items.removeIf(trip -> trip.getId().equals(event.tripId()));
+        boolean complete = snapshot.complete();
+        
+        if (event.type() != TripChangedEvent.Type.DELETED) {
+            TripDto trip = event.trip();
+            int position = insertionPoint(items, trip);
+            if (!ready) {
+                // ระหว่าง warm-up ยังไม่มี prefix ให้รักษา แค่เก็บ N ตัวใหม่สุด
+                items.add(position, trip);
+            } else if (wasPresent || complete || position < items.size()) {
+                // trip ที่เก่ากว่าตัวสุดท้ายของ feed อาจมีแถวอื่นใน DB คั่นอยู่ จึงใส่ไม่ได้
+                items.add(position, trip);
+            }
+            if (items.size() > capacity) {
+                complete = false;
+            }
+        }
+        snapshot = new Snapshot(truncate(items), complete);
+    }
+    
+    /**
+     * The page after {@code after} (or the first page when null), if the feed
+     * can answer it exactly. Empty means the caller must ask the database.
+     */
+    public Optional<TripPage> page(TripCursor after, int size) {
+        Snapshot current = snapshot;
+        TripDto[] items = current.items();
+        int start = after == null ? 0 : firstOlderThan(items, after);
+        
+        if (start + size < items.length) {
+            TripDto last = items[start + size - 1];
+            String nextCursor = new TripCursor(last.getCreatedAt(), last.getId()).encode();
+            return Optional.of(new TripPage(List.of(Arrays.copyOfRange(items, start, start + size)), nextCursor));
+        }
+        if (current.complete()) {
+            return Optional.of(new TripPage(List.of(Arrays.copyOfRange(items, start, items.length)), null));
+        }
+        return Optional.empty();
+    }
+    
+    public int size() {
+        return snapshot.items().length;
+    }
+    
+    private TripDto[] truncate(List<TripDto> items) {
+        return items.subList(0, Math.min(capacity, items.size())).toArray(new TripDto[0]);
+    }
+    
+    private static int insertionPoint(List<TripDto> items, TripDto trip) {
+        int index = Collections.binarySearch(items, trip, NEWEST_FIRST);
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    // index แรกที่อยู่หลัง cursor ตามลำดับ (created_at DESC, id DESC)
+    private static int firstOlderThan(TripDto[] items, TripCursor cursor) {
+        int low = 0;
+        int high = items.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isOlder(items[mid], cursor)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+    
+    private static boolean isOlder(TripDto trip, TripCursor cursor) {
+        int byTime = trip.getCreatedAt().toInstant().compareTo(cursor.createdAt().toInstant());
+        return byTime < 0 || (byTime == 0 && trip.getId() < cursor.id());
+    }
+}
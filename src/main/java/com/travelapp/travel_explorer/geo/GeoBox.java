@@ -0,0 +1,60 @@
+package com.travelapp.travel_explorer.geo;
+
+/**
+ * Latitude/longitude rectangle. A box whose {@code minLng} is greater than its
+ * {@code maxLng} crosses the antimeridian (e.g. 170 to -170 around Fiji).
+ */
+public record GeoBox(double minLat, double minLng, double maxLat, double maxLng) {
+    
+    public GeoBox {
+        GeoMath.requireValid(minLat, minLng);
+        GeoMath.requireValid(maxLat, maxLng);
+        if (minLat > maxLat) {
+            throw new IllegalArgumentException("minLat must not be greater than maxLat");
+        }
+    }
+    
+    /** Smallest box containing every point within {@code radiusKm} of the centre. */
+    public static GeoBox around(double lat, double lng, double radiusKm) {
+        GeoMath.requireValid(lat, lng);
+        double dLat = radiusKm / GeoMath.KM_PER_DEGREE;
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+        // ใกล้ขั้วโลก วงกลมครอบทุก longitude
+        if (minLat == -90 || maxLat == 90) {
+            return new GeoBox(minLat, -180, maxLat, 180);
+        }
+        // ครึ่งความกว้างที่จุดสัมผัสของวงกลม (ซึ่งอยู่ค่อนไปทางขั้ว) ไม่ใช่ที่ละติจูดของจุดศูนย์กลาง
+        double angularRadius = radiusKm / GeoMath.EARTH_RADIUS_KM;
+        double sinDLng = Math.sin(angularRadius) / Math.cos(Math.toRadians(lat));
+        if (sinDLng >= 1) {
+            return new GeoBox(minLat, -180, maxLat, 180);
+        }
+        double dLng = Math.toDegrees(Math.asin(sinDLng));
+        double minLng = lng - dLng < -180 ? GeoMath.normalizeLng(lng - dLng) : lng - dLng;
+        double maxLng = lng + dLng > 180 ? GeoMath.normalizeLng(lng + dLng) : lng + dLng;
+        return new GeoBox(minLat, minLng, maxLat, maxLng);
+    }
+    
+    public boolean crossesAntimeridian() {
+        return minLng > maxLng;
+    }
+    
+    public boolean contains(double lat, double lng) {
+        if (lat < minLat || lat > maxLat) {
+            return false;
+        }
+        return crossesAntimeridian() ? lng >= minLng || lng <= maxLng : lng >= minLng && lng <= maxLng;
+    }
+    
+    public double centerLat() {
+        return (minLat + maxLat) / 2;
+    }
+    
+    public double centerLng() {
+        if (!crossesAntimeridian()) {
+            return (minLng + maxLng) / 2;
+        }
+        return GeoMath.normalizeLng((minLng + maxLng + 360) / 2);
+    }
+}
@@ -0,0 +1,10 @@
+package com.travelapp.travel_explorer.geo;
+
+/**
+ * A trip matched by a location query.
+ *
+ * @param id         trip id
+ * @param distanceKm great-circle distance from the query point (or box centre)
+ */
+public record GeoHit(Long id, double distanceKm) {
+}
@@ -0,0 +1,36 @@
+package com.travelapp.travel_explorer.geo;
+
+/** Spherical-earth helpers; accurate to well under 1% for the distances a map shows. */
+public final class GeoMath {
+    
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    // ระยะทางของ 1 องศา latitude (ประมาณค่าคงที่ทั้งโลก)
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    
+    private GeoMath() {
+    }
+    
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    public static void requireValid(double lat, double lng) {
+        if (!(lat >= -90 && lat <= 90)) {
+            throw new IllegalArgumentException("lat must be between -90 and 90");
+        }
+        if (!(lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("lng must be between -180 and 180");
+        }
+    }
+    
+    /** Wraps a longitude into [-180, 180). */
+    static double normalizeLng(double lng) {
+        double wrapped = (lng + 180) % 360;
+        return (wrapped < 0 ? wrapped + 360 : wrapped) - 180;
+    }
+}
@@ -0,0 +1,286 @@
+package com.travelapp.travel_explorer.geo;
+
+import com.travelapp.travel_explorer.dto.TripClusterDto;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import com.travelapp.travel_explorer.repository.TripLocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Pre-aggregated trip counts on a hierarchical grid for zoomed-out map views.
+ *
+ * <p>Level {@code z} splits the world into {@code 2^z} rows and
+ * {@code 2^(z+1)} columns of square cells. Each cell sits inside exactly one
+ * parent cell one level up. Every level keeps count, coordinate sums and a
+ * sample trip per occupied cell. A create, update or delete therefore touches
+ * one cell per level, and a query reads finished aggregates instead of trips.
+ *
+ * <p>The level is chosen from the map zoom and then lowered until the viewport
+ * covers at most {@value #MAX_CLUSTERS} cells. The response size depends on
+ * the viewport, never on how many trips it contains.
+ */
+@Component
+public class TripClusterIndex implements TripIndex {
+    
+    // level 14 ≈ cell 0.011° (~1.2 km): ซูมลึกกว่านี้ client ควรใช้ /within แทน
+    static final int MAX_LEVEL = 14;
+    static final int MAX_CLUSTERS = 1024;
+    // zoom สูงสุดที่ web map ทั่วไปรองรับ ค่าที่เกินนี้ปฏิเสธไป (กัน zoom + 1 ล้นด้วย)
+    public static final int MAX_ZOOM = 22;
+    
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    
+    private record Point(Long id, double lat, double lng) {
+    }
+    
+    private static final class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        Long sampleId;
+        // เก็บสมาชิกเฉพาะ level ละเอียดสุด ไว้หา sample ใหม่เมื่อ sample เดิมถูกลบ
+        List<Long> members;
+    }
+    
+    public TripClusterIndex() {
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            levels.add(new HashMap<>());
+        }
+    }
+    
+    @Override
+    public void load(List<TripDto> batch) {
+        lock.writeLock().lock();
+        try {
+            for (TripDto trip : batch) {
+                put(trip);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+    
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            levels.forEach(Map::clear);
+            points.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public void apply(TripChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.tripId());
+            if (event.type() != TripChangedEvent.Type.DELETED) {
+                put(event.trip());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<TripClusterDto> clusters(GeoBox box, int zoom) {
+        int level = levelFor(box, zoom);
+        List<TripClusterDto> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = levels.get(level);
+            forEachCell(box, level, key -> {
+                Cell cell = cells.get(key);
+                if (cell != null) {
+                    clusters.add(toDto(cell));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+    
+    /**
+     * Same aggregation computed from raw locations, for when the index is not
+     * warm yet. The caller must pass every located trip inside {@code box}.
+     */
+    public static List<TripClusterDto> aggregate(Collection<TripLocation> locations, GeoBox box, int zoom) {
+        int level = levelFor(box, zoom);
+        Map<Long, Cell> cells = new HashMap<>();
+        for (TripLocation location : locations) {
+            if (location.latitude() == null || location.longitude() == null
+                    || !box.contains(location.latitude(), location.longitude())) {
+                continue;
+            }
+            Cell cell = cells.computeIfAbsent(cellKey(location.latitude(), location.longitude(), level), k -> new Cell());
+            cell.count++;
+            cell.sumLat += location.latitude();
+            cell.sumLng += location.longitude();
+            if (cell.sampleId == null) {
+                cell.sampleId = location.id();
+            }
+        }
+        return cells.values().stream().map(TripClusterIndex::toDto).toList();
+    }
+    
+    static int levelFor(GeoBox box, int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MAX_ZOOM);
+        }
+        // web map zoom z กว้าง 256·2^z px → cell ละ ~64 px คือ level z+1
+        int level = Math.min(MAX_LEVEL, zoom + 1);
+        while (level > 0 && cellsInBox(box, level) > MAX_CLUSTERS) {
+            level--;
+        }
+        return level;
+    }
+    
+    private static long cellsInBox(GeoBox box, int level) {
+        long rows = row(box.maxLat(), level) - row(box.minLat(), level) + 1;
+        long columns = 0;
+        for (int[] range : columnRanges(box, level)) {
+            columns += range[1] - range[0] + 1;
+        }
+        return rows * columns;
+    }
+    
+    private static void forEachCell(GeoBox box, int level, LongConsumer action) {
+        int columns = 2 << level;
+        for (int row = row(box.minLat(), level); row <= row(box.maxLat(), level); row++) {
+            for (int[] range : columnRanges(box, level)) {
+                for (int column = range[0]; column <= range[1]; column++) {
+                    action.accept((long) row * columns + column);
+                }
+            }
+        }
+    }
+    
+    private static List<int[]> columnRanges(GeoBox box, int level) {
+        if (box.crossesAntimeridian()) {
+            return List.of(new int[]{column(box.minLng(), level), (2 << level) - 1},
+                    new int[]{0, column(box.maxLng(), level)});
+        }
+        return List.<int[]>of(new int[]{column(box.minLng(), level), column(box.maxLng(), level)});
+    }
+    
+    private void put(TripDto trip) {
+        remove(trip.getId());
+        if (trip.getLatitude() == null || trip.getLongitude() == null) {
+            return;
+        }
+        double lat = trip.getLatitude();
+        double lng = trip.getLongitude();
+        if (!(lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180)) {
+            return;
+        }
+        Point point = new Point(trip.getId(), lat, lng);
+        points.put(point.id(), point);
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            Cell cell = levels.get(level).computeIfAbsent(cellKey(lat, lng, level), k -> new Cell());
+            cell.count++;
+            cell.sumLat += lat;
+            cell.sumLng += lng;
+            if (cell.sampleId == null) {
+                cell.sampleId = point.id();
+            }
+            if (level == MAX_LEVEL) {
+                if (cell.members == null) {
+                    cell.members = new ArrayList<>();
+                }
+                cell.members.add(point.id());
+            }
+        }
+    }
+    
+    private void remove(Long id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+        // จาก level ละเอียดไปหยาบ: cell ลูกอัปเดตแล้ว จึงหยิบ sample ใหม่จากลูกได้
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            Map<Long, Cell> cells = levels.get(level);
+            long key = cellKey(point.lat(), point.lng(), level);
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                continue;
+            }
+            cell.count--;
+            if (cell.count == 0) {
+                cells.remove(key);
+                continue;
+            }
+            cell.sumLat -= point.lat();
+            cell.sumLng -= point.lng();
+            if (level == MAX_LEVEL) {
+                cell.members.remove(id);
+                if (id.equals(cell.sampleId)) {
+                    cell.sampleId = cell.members.get(0);
+                }
+            } else if (id.equals(cell.sampleId)) {
+                cell.sampleId = sampleFromChildren(key, level);
+            }
+        }
+    }
+    
+    private Long sampleFromChildren(long key, int level) {
+        int columns = 2 << level;
+        int row = (int) (key / columns);
+        int column = (int) (key % columns);
+        Map<Long, Cell> children = levels.get(level + 1);
+        int childColumns = columns * 2;
+        for (int r = row * 2; r <= row * 2 + 1; r++) {
+            for (int c = column * 2; c <= column * 2 + 1; c++) {
+                Cell child = children.get((long) r * childColumns + c);
+                if (child != null) {
+                    return child.sampleId;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static TripClusterDto toDto(Cell cell) {
+        return new TripClusterDto(cell.sumLat / cell.count, cell.sumLng / cell.count, cell.count, cell.sampleId);
+    }
+    
+    // คำนวณจากสัดส่วน 0..1 แล้วคูณด้วย 2^level (คูณเลขยกกำลังสองไม่มี rounding)
+    // ทำให้ cell ของ level ลูกซ้อนอยู่ใน cell แม่พอดีเสมอ
+    private static int row(double lat, int level) {
+        int rows = 1 << level;
+        return Math.min(rows - 1, (int) Math.floor((lat + 90) / 180 * rows));
+    }
+    
+    private static int column(double lng, int level) {
+        int columns = 2 << level;
+        return Math.min(columns - 1, (int) Math.floor((lng + 180) / 360 * columns));
+    }
+    
+    private static long cellKey(double lat, double lng, int level) {
+        return (long) row(lat, level) * (2 << level) + column(lng, level);
+    }
+}
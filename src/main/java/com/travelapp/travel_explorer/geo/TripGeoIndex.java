@@ -0,0 +1,215 @@
+package com.travelapp.travel_explorer.geo;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory uniform grid over trip coordinates.
+ *
+ * <p>Each trip with a location sits in one cell of {@value #CELL_DEGREES}
+ * degrees. A query visits only the cells that overlap its box. When a box
+ * covers more cells than are occupied (a zoomed-out map), the occupied cells
+ * are scanned instead. Results are ordered nearest first, keeping a heap of
+ * {@code limit} hits rather than sorting every match.
+ */
+@Component
+public class TripGeoIndex implements TripIndex {
+    
+    // ~11 km ที่เส้นศูนย์สูตร: รัศมีไม่กี่สิบกิโลเมตรแตะแค่หลักร้อย cell
+    static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    
+    private record Point(Long id, double lat, double lng, long cell) {
+    }
+    
+    private static final Comparator<GeoHit> NEAREST_FIRST = Comparator
+            .comparingDouble(GeoHit::distanceKm)
+            .thenComparing(GeoHit::id, Comparator.reverseOrder());
+    
+    @Override
+    public void load(List<TripDto> batch) {
+        lock.writeLock().lock();
+        try {
+            for (TripDto trip : batch) {
+                put(trip);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+    
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public void apply(TripChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.tripId());
+            if (event.type() != TripChangedEvent.Type.DELETED) {
+                put(event.trip());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** Trips within {@code radiusKm} of the point, nearest first. */
+    public List<GeoHit> near(double lat, double lng, double radiusKm, int limit) {
+        GeoBox box = GeoBox.around(lat, lng, radiusKm);
+        return query(box, lat, lng, radiusKm, limit);
+    }
+    
+    /** Trips inside the box, nearest to its centre first. */
+    public List<GeoHit> within(GeoBox box, int limit) {
+        return query(box, box.centerLat(), box.centerLng(), Double.POSITIVE_INFINITY, limit);
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private List<GeoHit> query(GeoBox box, double originLat, double originLng, double maxDistanceKm, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<GeoHit> heap = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            int minRow = row(box.minLat());
+            int maxRow = row(box.maxLat());
+            List<int[]> columnRanges = columnRanges(box);
+            long boxCells = 0;
+            for (int[] range : columnRanges) {
+                boxCells += (long) (maxRow - minRow + 1) * (range[1] - range[0] + 1);
+            }
+            
+            if (boxCells > cells.size()) {
+                // กล่องใหญ่กว่าจำนวน cell ที่มีข้อมูลจริง ไล่ cell ที่มีข้อมูลแทน
+                for (List<Point> cell : cells.values()) {
+                    collect(cell, box, originLat, originLng, maxDistanceKm, limit, heap);
+                }
+            } else {
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int[] range : columnRanges) {
+                        for (int column = range[0]; column <= range[1]; column++) {
+                            List<Point> cell = cells.get(key(row, column));
+                            if (cell != null) {
+                                collect(cell, box, originLat, originLng, maxDistanceKm, limit, heap);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<GeoHit> hits = new ArrayList<>(heap);
+        hits.sort(NEAREST_FIRST);
+        return hits;
+    }
+    
+    private static void collect(List<Point> cell, GeoBox box, double originLat, double originLng,
+                                double maxDistanceKm, int limit, PriorityQueue<GeoHit> heap) {
+        for (Point point : cell) {
+            if (!box.contains(point.lat(), point.lng())) {
+                continue;
+            }
+            double distance = GeoMath.distanceKm(originLat, originLng, point.lat(), point.lng());
+            if (distance > maxDistanceKm) {
+                continue;
+            }
+            heap.add(new GeoHit(point.id(), distance));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+    }
+    
+    private static List<int[]> columnRanges(GeoBox box) {
+        if (box.crossesAntimeridian()) {
+            return List.of(new int[]{column(box.minLng()), LNG_CELLS - 1}, new int[]{0, column(box.maxLng())});
+        }
+        return List.<int[]>of(new int[]{column(box.minLng()), column(box.maxLng())});
+    }
+    
+    private void put(TripDto trip) {
+        remove(trip.getId());
+        if (trip.getLatitude() == null || trip.getLongitude() == null) {
+            return;
+        }
+        double lat = trip.getLatitude();
+        double lng = trip.getLongitude();
+        if (!(lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180)) {
+            return;
+        }
+        Point point = new Point(trip.getId(), lat, lng, key(row(lat), column(lng)));
+        points.put(point.id(), point);
+        cells.computeIfAbsent(point.cell(), c -> new ArrayList<>()).add(point);
+    }
+    
+    private void remove(Long id) {
+        Point existing = points.remove(id);
+        if (existing == null) {
+            return;
+        }
+        List<Point> cell = cells.get(existing.cell());
+        if (cell != null) {
+            cell.remove(existing);
+            if (cell.isEmpty()) {
+                cells.remove(existing.cell());
+            }
+        }
+    }
+    
+    private static int row(double lat) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((lat + 90) / CELL_DEGREES));
+    }
+    
+    private static int column(double lng) {
+        return Math.min(LNG_CELLS - 1, (int) Math.floor((lng + 180) / CELL_DEGREES));
+    }
+    
+    private static long key(int row, int column) {
+        return (long) row * LNG_CELLS + column;
+    }
+}
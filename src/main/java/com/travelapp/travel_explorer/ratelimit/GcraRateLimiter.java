@@ -0,0 +1,77 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client, kept in GCRA form: instead of a token count and a
+ * refill timestamp, each client has one {@link AtomicLong} holding the time at
+ * which its bucket will be full again. A request is allowed if that time is no
+ * more than {@code burst} intervals ahead of now, and then moves it one
+ * interval further with a single CAS. No lock is taken and nothing is
+ * allocated for a client that is already known.
+ *
+ * <p>A bucket that has been idle for {@code burst} intervals is full, so it
+ * is the same as a missing one. Buckets expire after that long without
+ * access, which bounds the map to the clients active in the last few seconds.
+ * {@code maxClients} is a hard cap on top of that.
+ */
+public class GcraRateLimiter {
+    
+    // ยังไม่เคยใช้: ถือว่า bucket เต็ม (น้อยกว่าเวลาใด ๆ ที่ ticker คืนมา)
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Ticker ticker;
+    private final Cache<Object, AtomicLong> buckets;
+    
+    public GcraRateLimiter(double perSecond, int burst, long maxClients) {
+        this(perSecond, burst, maxClients, Ticker.systemTicker());
+    }
+    
+    GcraRateLimiter(double perSecond, int burst, long maxClients, Ticker ticker) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                .ticker(ticker)
+                .build();
+    }
+    
+    /**
+     * Takes one token for {@code client}.
+     *
+     * @return 0 if the request may proceed, otherwise how many nanoseconds
+     *         until the next token is available
+     */
+    public long tryAcquire(Object client) {
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong(EMPTY));
+        long now = ticker.read();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    long clients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,95 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import com.travelapp.travel_explorer.config.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Turns requests away with 503 while the server is already saturated, before
+ * they add to the queue. There are two signals. One is requests in flight
+ * through the API. The other is callers waiting for a database connection,
+ * counted both at the Hikari pool and at the virtual-thread permit gate.
+ * Searches are shed first, at {@code maxDbWaiting}, because they hold a
+ * connection longest. Everything else is shed at twice that.
+ */
+public class LoadShedder {
+    
+    public enum Reason {
+        IN_FLIGHT("in_flight"),
+        DB_WAITING("db_waiting");
+        
+        private final String tag;
+        
+        Reason(String tag) {
+            this.tag = tag;
+        }
+        
+        public String tag() {
+            return tag;
+        }
+    }
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+    private final int maxDbWaiting;
+    private final IntSupplier dbWaiting;
+    
+    /** A limit of 0 turns that check off. */
+    public LoadShedder(int maxInFlight, int maxDbWaiting, IntSupplier dbWaiting) {
+        this.maxInFlight = maxInFlight;
+        this.maxDbWaiting = maxDbWaiting;
+        this.dbWaiting = dbWaiting;
+    }
+    
+    /** Why {@code route} should be shed right now, or {@code null} to let it through. */
+    public Reason check(RouteClass route) {
+        if (maxInFlight > 0 && inFlight.get() >= maxInFlight) {
+            return Reason.IN_FLIGHT;
+        }
+        if (maxDbWaiting > 0) {
+            int limit = route == RouteClass.SEARCH ? maxDbWaiting : 2 * maxDbWaiting;
+            if (dbWaiting.getAsInt() >= limit) {
+                return Reason.DB_WAITING;
+            }
+        }
+        return null;
+    }
+    
+    public void enter() {
+        inFlight.incrementAndGet();
+    }
+    
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    /**
+     * Callers waiting for a connection from {@code dataSource}: the Hikari pool's
+     * waiters plus, in virtual-thread mode, those parked on the permit gate in front of it.
+     */
+    public static IntSupplier dbWaiting(DataSource dataSource) {
+        IntSupplier gate = () -> 0;
+        DataSource pool = dataSource;
+        if (dataSource instanceof ConnectionLimitingDataSource limited) {
+            gate = limited::getQueueLength;
+            pool = limited.getTargetDataSource();
+        }
+        if (!(pool instanceof HikariDataSource hikari)) {
+            return gate;
+        }
+        IntSupplier permitGate = gate;
+        return () -> {
+            // pool ยังไม่ถูกสร้างจนกว่าจะขอ connection ครั้งแรก
+            HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+            return permitGate.getAsInt() + (mxBean == null ? 0 : mxBean.getThreadsAwaitingConnection());
+        };
+    }
+}
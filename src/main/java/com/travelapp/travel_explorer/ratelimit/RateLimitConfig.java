@@ -0,0 +1,44 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    
+    @Bean
+    public LoadShedder loadShedder(RateLimitProperties properties,
+                                   ObjectProvider<DataSource> dataSource,
+                                   MeterRegistry meterRegistry) {
+        DataSource db = dataSource.getIfAvailable();
+        IntSupplier dbWaiting = db == null ? () -> 0 : LoadShedder.dbWaiting(db);
+        LoadShedder shedder = new LoadShedder(
+                properties.shedding().maxInFlight(), properties.shedding().maxDbWaiting(), dbWaiting);
+        Gauge.builder("http.server.requests.in_flight", shedder, LoadShedder::getInFlight)
+                .description("API requests currently being handled")
+                .register(meterRegistry);
+        return shedder;
+    }
+    
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties,
+                                           LoadShedder loadShedder,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        Map<RouteClass, GcraRateLimiter> limiters = new EnumMap<>(RouteClass.class);
+        properties.routes().forEach((route, limit) -> limiters.put(route,
+                new GcraRateLimiter(limit.perSecond(), limit.burst(), properties.maxClients())));
+        return new RateLimitFilter(properties.enabled(), limiters, loadShedder, objectMapper, meterRegistry);
+    }
+}
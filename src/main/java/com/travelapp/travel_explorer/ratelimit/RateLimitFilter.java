@@ -0,0 +1,165 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelapp.travel_explorer.dto.ErrorResponse;
+import com.travelapp.travel_explorer.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs right after {@code JwtAuthenticationFilter}. A logged-in user is limited
+ * by user id and anyone else by client IP; login and register are always
+ * limited by IP. Over the limit the answer is 429 with {@code Retry-After}.
+ * Requests that pass are then checked by the {@link LoadShedder} and counted
+ * as in flight until the request completes. For async requests (streamed
+ * exports, {@code /api/rx}) that is when the async context completes, not when
+ * the first dispatch returns.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final boolean enabled;
+    private final Map<RouteClass, GcraRateLimiter> limiters;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    public RateLimitFilter(boolean enabled,
+                           Map<RouteClass, GcraRateLimiter> limiters,
+                           LoadShedder loadShedder,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.limiters = limiters;
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // actuator (health, prometheus) ต้องตอบได้เสมอแม้ตอนระบบล้น
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteClass route = RouteClass.of(request);
+        GcraRateLimiter limiter = enabled && route != null ? limiters.get(route) : null;
+        if (limiter != null) {
+            long waitNanos = limiter.tryAcquire(clientKey(route, request));
+            if (waitNanos > 0) {
+                reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos),
+                        "Too many requests, please slow down", "rate_limit", route);
+                return;
+            }
+        }
+        
+        LoadShedder.Reason shed = loadShedder.check(route);
+        if (shed != null) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Server is busy, please retry shortly", shed.tag(), route);
+            return;
+        }
+        
+        loadShedder.enter();
+        boolean releasedLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // async dispatch ไม่ผ่าน filter นี้อีก (OncePerRequestFilter) จึงต้องลดตัวนับตอน async จบ
+                request.getAsyncContext().addListener(new InFlightRelease());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                loadShedder.exit();
+            }
+        }
+    }
+    
+    /**
+     * Leaves the in-flight count once the async request ends. Error and timeout
+     * are normally followed by complete, so the count is released only once.
+     */
+    private final class InFlightRelease implements AsyncListener {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // startAsync ซ้ำจะล้าง listener เดิม ต้องลงทะเบียนตัวเองใหม่
+            event.getAsyncContext().addListener(this);
+        }
+        
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                loadShedder.exit();
+            }
+        }
+    }
+    
+    // Long = user id, String = IP: คนละชนิดกันจึงไม่มีทางชนกันใน map เดียว
+    private static Object clientKey(RouteClass route, HttpServletRequest request) {
+        if (route != RouteClass.AUTH) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return user.id();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+    
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message, String reason, RouteClass route) throws IOException {
+        Counter.builder("http.server.requests.rejected")
+                .description("Requests refused by the rate limiter or load shedder")
+                .tag("reason", reason)
+                .tag("route", route == null ? "other" : route.tag())
+                .register(meterRegistry)
+                .increment();
+        
+        ErrorResponse error = new ErrorResponse(status.value(), status.getReasonPhrase(), message, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
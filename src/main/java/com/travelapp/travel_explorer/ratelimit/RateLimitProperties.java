@@ -0,0 +1,48 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Settings for per-client limits and load shedding ({@code rate-limit.*}).
+ *
+ * @param enabled     per-client limits on or off; shedding has its own switches
+ * @param routes      limit per route class; a class without an entry is unlimited
+ * @param maxClients  most clients tracked per route class
+ * @param shedding    load shedding thresholds
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Map<RouteClass, Limit> routes,
+        long maxClients,
+        Shedding shedding) {
+    
+    /**
+     * @param perSecond  sustained requests per second per client
+     * @param burst      requests a client may send at once after being idle
+     */
+    public record Limit(double perSecond, int burst) {
+    }
+    
+    /**
+     * @param maxInFlight   API requests being handled before new ones get 503 (0 = off)
+     * @param maxDbWaiting  callers waiting for a DB connection before searches get 503,
+     *                      twice this for other requests (0 = off)
+     */
+    public record Shedding(int maxInFlight, int maxDbWaiting) {
+    }
+    
+    public RateLimitProperties {
+        if (routes == null) {
+            routes = Map.of();
+        }
+        if (maxClients <= 0) {
+            maxClients = 100_000;
+        }
+        if (shedding == null) {
+            shedding = new Shedding(0, 0);
+        }
+    }
+}
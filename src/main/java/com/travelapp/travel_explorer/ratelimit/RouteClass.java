@@ -0,0 +1,51 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * Groups of endpoints that share a per-client limit. Requests outside these
+ * groups (trip pages, trip by id, the map endpoints) are served from caches
+ * and in-memory indexes and have no limit of their own.
+ */
+public enum RouteClass {
+    
+    /** {@code GET /api/trips?query=} and its streaming twin. */
+    SEARCH,
+    /** Creating, importing, updating and deleting trips. */
+    WRITE,
+    /** Image uploads. */
+    UPLOAD,
+    /** Login and register, keyed by client IP only. */
+    AUTH;
+    
+    private final String tag = name().toLowerCase(Locale.ROOT);
+    
+    public String tag() {
+        return tag;
+    }
+    
+    /** The class of {@code request}, or {@code null} if it has no per-client limit. */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            return "POST".equals(method) ? AUTH : null;
+        }
+        if (path.startsWith("/api/files/")) {
+            return "POST".equals(method) ? UPLOAD : null;
+        }
+        if (!path.startsWith("/api/trips") && !path.startsWith("/api/rx/trips")) {
+            return null;
+        }
+        return switch (method) {
+            // อ่าน query เฉพาะ GET: ไม่แตะ body ของ request อื่น
+            case "GET" -> (path.equals("/api/trips") || path.equals("/api/rx/trips"))
+                    && StringUtils.hasText(request.getParameter("query")) ? SEARCH : null;
+            case "POST", "PUT", "PATCH", "DELETE" -> WRITE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.travelapp.travel_explorer.repository;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Read-only trip queries over R2DBC. Rows are mapped straight to {@link TripDto}
+ * (author joined in the same statement) and emitted as they arrive from the
+ * driver, so a slow client holds back the database cursor instead of a list.
+ */
+@Repository
+@ConditionalOnProperty(name = "trips.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTripRepository {
+    
+    private static final String SELECT_TRIP = "SELECT t.id, t.title, t.description, t.photos, t.tags, " +
+            "t.latitude, t.longitude, t.author_id, u.display_name, t.created_at, t.updated_at " +
+            "FROM trips t LEFT JOIN users u ON u.id = t.author_id ";
+    private static final String NEWEST_FIRST = " ORDER BY t.created_at DESC, t.id DESC";
+    
+    private final DatabaseClient databaseClient;
+    
+    public Flux<TripDto> findNewestFirst(int limit) {
+        return databaseClient.sql(SELECT_TRIP + NEWEST_FIRST + limitClause(limit))
+                .map(ReactiveTripRepository::toDto)
+                .all();
+    }
+    
+    public Flux<TripDto> findNewestFirstAfter(OffsetDateTime createdAt, Long id, int limit) {
+        return databaseClient.sql(SELECT_TRIP + "WHERE (t.created_at, t.id) < (:createdAt, :id)" + NEWEST_FIRST + limitClause(limit))
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .map(ReactiveTripRepository::toDto)
+                .all();
+    }
+    
+    public Mono<TripDto> findById(Long id) {
+        return databaseClient.sql(SELECT_TRIP + "WHERE t.id = :id")
+                .bind("id", id)
+                .map(ReactiveTripRepository::toDto)
+                .one();
+    }
+    
+    // ลำดับของผลลัพธ์ไม่รับประกัน ผู้เรียกต้องเรียงเอง
+    public Flux<TripDto> findByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(SELECT_TRIP + "WHERE t.id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(ReactiveTripRepository::toDto)
+                .all();
+    }
+    
+    public Flux<TripDto> findByAuthorId(Long authorId) {
+        return databaseClient.sql(SELECT_TRIP + "WHERE t.author_id = :authorId" + NEWEST_FIRST)
+                .bind("authorId", authorId)
+                .map(ReactiveTripRepository::toDto)
+                .all();
+    }
+    
+    // เงื่อนไขเดียวกับ TripRepository.searchTripIds ใช้ตอน search index ยังโหลดไม่เสร็จ
+    public Flux<TripDto> searchNewestFirst(String query, int offset, int limit) {
+        return databaseClient.sql(SELECT_TRIP + "WHERE " +
+                        "LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                        "LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                        "EXISTS (SELECT 1 FROM unnest(t.tags) tag WHERE LOWER(tag) LIKE LOWER(CONCAT('%', :query, '%')))" +
+                        NEWEST_FIRST + " LIMIT :limit OFFSET :offset")
+                .bind("query", query)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveTripRepository::toDto)
+                .all();
+    }
+    
+    // limit เป็น int ที่ผ่านการตรวจช่วงมาแล้ว ต่อเข้า SQL ได้ตรง ๆ
+    private static String limitClause(int limit) {
+        return " LIMIT " + limit;
+    }
+    
+    private static TripDto toDto(Readable row) {
+        TripDto dto = new TripDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setTitle(row.get("title", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setPhotos(toStringArray(row.get("photos")));
+        dto.setTags(toStringArray(row.get("tags")));
+        dto.setLatitude(row.get("latitude", Double.class));
+        dto.setLongitude(row.get("longitude", Double.class));
+        dto.setAuthorId(row.get("author_id", Long.class));
+        dto.setAuthorDisplayName(row.get("display_name", String.class));
+        dto.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        dto.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return dto;
+    }
+    
+    // driver Postgres คืน TEXT[] เป็น String[] แต่บาง driver (เช่น H2) คืนเป็น Object[]
+    private static String[] toStringArray(Object value) {
+        if (value == null || value instanceof String[]) {
+            return (String[]) value;
+        }
+        return Arrays.stream((Object[]) value).map(String::valueOf).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,88 @@
+package com.travelapp.travel_explorer.repository;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.Trip;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-row trip inserts through plain JDBC batching, for imports large enough
+ * that building entities and a persistence context per row would dominate.
+ * Ids come from the same pooled sequence as {@link Trip}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TripBulkInsertRepository {
+    
+    private static final String INSERT_TRIP = "INSERT INTO trips " +
+            "(id, title, description, photos, tags, latitude, longitude, author_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String NEXT_ID_BLOCK = "SELECT nextval('" + Trip.ID_SEQUENCE + "')";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Inserts every trip in one JDBC batch and returns the assigned ids in
+     * input order. Must run inside a transaction so a failed batch leaves no rows.
+     */
+    public List<Long> insertAll(List<TripDto> trips, Long authorId, OffsetDateTime createdAt) {
+        List<Long> ids = allocateIds(trips.size());
+        jdbcTemplate.batchUpdate(INSERT_TRIP, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                TripDto trip = trips.get(i);
+                Connection connection = statement.getConnection();
+                statement.setLong(1, ids.get(i));
+                statement.setString(2, trip.getTitle());
+                statement.setString(3, trip.getDescription());
+                statement.setArray(4, connection.createArrayOf("text", orEmpty(trip.getPhotos())));
+                statement.setArray(5, connection.createArrayOf("text", orEmpty(trip.getTags())));
+                setDouble(statement, 6, trip.getLatitude());
+                setDouble(statement, 7, trip.getLongitude());
+                statement.setLong(8, authorId);
+                statement.setObject(9, createdAt);
+                statement.setObject(10, createdAt);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return trips.size();
+            }
+        });
+        return ids;
+    }
+    
+    // จอง id เป็นช่วงแบบเดียวกับ pooled optimizer ของ Hibernate: nextval ได้ v ใช้ id (v - 50, v] จึงไม่ชนกับ entity ที่ save ผ่าน JPA
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long high = jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+            for (long id = Math.max(1, high - Trip.ID_ALLOCATION_SIZE + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
+    private static String[] orEmpty(String[] values) {
+        return values != null ? values : new String[0];
+    }
+    
+    private static void setDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        } else {
+            statement.setDouble(index, value);
+        }
+    }
+}
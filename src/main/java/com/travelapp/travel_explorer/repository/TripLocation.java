@@ -0,0 +1,5 @@
+package com.travelapp.travel_explorer.repository;
+
+/** Id and coordinates only, for location queries that hydrate trips separately. */
+public record TripLocation(Long id, Double latitude, Double longitude) {
+}
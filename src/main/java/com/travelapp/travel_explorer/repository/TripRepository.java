@@ -1,25 +1,81 @@
 package com.travelapp.travel_explorer.repository;
 
 import com.travelapp.travel_explorer.entity.Trip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
     
+    // ทุก query ที่คืน Trip ไปแปลงเป็น DTO ต้อง fetch author มาด้วย ไม่งั้นจะเกิด N+1 (1 SELECT users ต่อ 1 trip)
+    
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Optional<Trip> findById(Long id);
+    
+    @EntityGraph(attributePaths = "author")
     List<Trip> findByAuthorId(Long authorId);
     
-    @Query(value = "SELECT DISTINCT t.* FROM trips t WHERE " +
+    @EntityGraph(attributePaths = "author")
+    List<Trip> findByIdIn(Collection<Long> ids);
+    
+    // Native query ใส่ entity graph ไม่ได้ จึงคืนแค่ id แล้วค่อยโหลดพร้อม author ด้วย findByIdIn
+    @Query(value = "SELECT t.id FROM trips t WHERE " +
            "LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "EXISTS (SELECT 1 FROM unnest(t.tags) tag WHERE LOWER(tag) LIKE LOWER(CONCAT('%', :query, '%'))) " +
            "ORDER BY t.created_at DESC", 
            nativeQuery = true)
-    List<Trip> searchTrips(@Param("query") String query);
+    List<Long> searchTripIds(@Param("query") String query);
     
+    @EntityGraph(attributePaths = "author")
     List<Trip> findAllByOrderByCreatedAtDesc();
+    
+    // สำหรับ export: อ่านผ่าน cursor ฝั่ง server ทีละ fetch size (Postgres ต้องอยู่ใน transaction จึงจะใช้ cursor)
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT t FROM Trip t ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Trip> streamAllForExport();
+    
+    // Keyset pagination: ใช้ index (created_at, id) ทำให้ทุกหน้ามีต้นทุนเท่ากัน ไม่ว่าจะเลื่อนลึกแค่ไหน
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT t FROM Trip t ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findFirstPage(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT t FROM Trip t WHERE (t.createdAt, t.id) < (:createdAt, :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findPageAfter(@Param("createdAt") OffsetDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
+    
+    // ใช้ตอน geo index ยังโหลดไม่เสร็จ: ดึงแค่พิกัดในกล่องผ่าน idx_trips_lat_lng
+    @Query("SELECT new com.travelapp.travel_explorer.repository.TripLocation(t.id, t.latitude, t.longitude) " +
+           "FROM Trip t WHERE t.latitude BETWEEN :minLat AND :maxLat " +
+           "AND t.longitude BETWEEN :minLng AND :maxLng")
+    List<TripLocation> findLocationsInBox(@Param("minLat") double minLat,
+                                          @Param("maxLat") double maxLat,
+                                          @Param("minLng") double minLng,
+                                          @Param("maxLng") double maxLng);
+    
+    // สำหรับ conditional GET: ตรวจ ETag ได้โดยไม่ต้องโหลด trip ทั้งแถว
+    @Query("SELECT new com.travelapp.travel_explorer.repository.TripVersion(t.id, COALESCE(t.updatedAt, t.createdAt), a.displayName) " +
+           "FROM Trip t LEFT JOIN t.author a WHERE t.id = :id")
+    Optional<TripVersion> findVersionById(@Param("id") Long id);
 }
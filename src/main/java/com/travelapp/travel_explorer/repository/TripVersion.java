@@ -0,0 +1,11 @@
+package com.travelapp.travel_explorer.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * What a trip's HTTP validators are derived from: the columns that change its
+ * rendered DTO. The author's display name is included because renaming a user
+ * changes the DTO without touching {@code trips.updated_at}.
+ */
+public record TripVersion(Long id, OffsetDateTime updatedAt, String authorDisplayName) {
+}
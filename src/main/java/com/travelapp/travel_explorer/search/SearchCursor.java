@@ -0,0 +1,46 @@
+package com.travelapp.travel_explorer.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for ranked search results. Relevance order has no stable key to
+ * seek on, so the token wraps a result offset. Offsets stop at
+ * {@value #MAX_OFFSET}: ranking a deeper page keeps every earlier hit in memory.
+ */
+public record SearchCursor(int offset) {
+    
+    public static final int MAX_OFFSET = 10_000;
+    
+    private static final String PREFIX = "s:";
+    
+    /** Cursor for the results from {@code offset} on, or null past the deepest page that can be requested. */
+    public static String encodeOrNull(int offset) {
+        return offset <= MAX_OFFSET ? new SearchCursor(offset).encode() : null;
+    }
+    
+    public String encode() {
+        String raw = PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new SearchCursor(0);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            // จำกัดบนด้วย: offset ใกล้ Integer.MAX_VALUE ทำให้ offset + limit ล้น
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SearchCursor(offset);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.travelapp.travel_explorer.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results.
+ *
+ * @param ids   trip ids, best match first
+ * @param total number of trips that matched the whole query
+ */
+public record SearchHits(List<Long> ids, int total) {
+}
@@ -0,0 +1,77 @@
+package com.travelapp.travel_explorer.search;
+
+import java.text.BreakIterator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns free text into index terms. Thai has no spaces between words, so word
+ * boundaries come from the JDK's dictionary-based Thai {@link BreakIterator};
+ * Latin text is split the usual way by the same iterator.
+ */
+public final class TextAnalyzer {
+    
+    private static final Locale THAI = Locale.forLanguageTag("th");
+    
+    private TextAnalyzer() {
+    }
+    
+    /** NFKC + lowercase เพื่อให้ query กับข้อมูลที่พิมพ์ต่างรูปแบบกันเทียบกันได้ */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    }
+    
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        
+        // BreakIterator ไม่ thread-safe จึงสร้างใหม่ทุกครั้ง
+        BreakIterator words = BreakIterator.getWordInstance(THAI);
+        words.setText(normalized);
+        int start = words.first();
+        for (int end = words.next(); end != BreakIterator.DONE; start = end, end = words.next()) {
+            splitOnSymbols(normalized, start, end, tokens);
+        }
+        return tokens;
+    }
+    
+    // BreakIterator คืน "beach-trip" เป็นคำเดียว จึงตัดซ้ำที่อักขระที่ไม่ใช่ตัวอักษร/ตัวเลข/สระลอย
+    private static void splitOnSymbols(String text, int start, int end, List<String> tokens) {
+        int tokenStart = -1;
+        for (int i = start; i < end; i++) {
+            if (isWordChar(text.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                addToken(text.substring(tokenStart, i), tokens);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            addToken(text.substring(tokenStart, end), tokens);
+        }
+    }
+    
+    private static void addToken(String token, List<String> tokens) {
+        // ตัดกรณีที่เหลือแต่วรรณยุกต์/สระลอยโดยไม่มีพยัญชนะ
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isLetterOrDigit(token.charAt(i))) {
+                tokens.add(token);
+                return;
+            }
+        }
+    }
+    
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+}
@@ -0,0 +1,340 @@
+package com.travelapp.travel_explorer.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over trip title, tags and description.
+ *
+ * <p>Terms live in a sorted map so a query term also matches every indexed term
+ * it is a prefix of. A trip must match every query term; the score is the sum of
+ * field-weighted term frequency times IDF, with prefix matches discounted.
+ * Ties fall back to newest first, the same order as the listing.
+ *
+ * <p>Result pages are cached by normalized query, offset and limit, bounded by
+ * size and TTL ({@code cache.*{cache=trips.search}} metrics). A trip change
+ * drops only the cached queries with a term that is a prefix of a term whose
+ * weight in that trip changed. Those queries are found through a map from
+ * query term to cached keys, so a change costs a few lookups per changed term
+ * rather than a pass over the whole cache. Changes to other trips can still
+ * shift IDF slightly, and the TTL bounds how long such a ranking stays stale.
+ */
+@Component
+public class TripSearchIndex implements TripIndex {
+    
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    
+    public static final String CACHE_NAME = "trips.search";
+    
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Cache<QueryKey, CachedHits> results;
+    // คำใน query -> key ที่อยู่ใน cache (เพิ่มตอนใส่ cache, ลบตอน evict/invalidate) ใช้หา query ที่ต้องทิ้งโดยไม่ต้องไล่ทั้ง cache
+    private final Map<String, Set<QueryKey>> cachedKeysByTerm = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    
+    private record QueryKey(String query, int offset, int limit) {
+    }
+    
+    private record CachedHits(List<String> terms, SearchHits hits) {
+    }
+    
+    private record Document(Long id, long createdAt, Map<String, Float> terms) {
+    }
+    
+    private record Scored(Long id, float score, long createdAt) {
+    }
+    
+    private static final Comparator<Scored> BEST_FIRST = Comparator
+            .comparingDouble(Scored::score).reversed()
+            .thenComparing(Comparator.comparingLong(Scored::createdAt).reversed())
+            .thenComparing(Comparator.comparing(Scored::id).reversed());
+    
+    public TripSearchIndex(MeterRegistry meterRegistry,
+                           @Value("${trips.search.cache.ttl:5m}") Duration ttl,
+                           @Value("${trips.search.cache.max-size:10000}") long maxSize) {
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                // listener นี้ทำงานใน eviction เอง (ไม่ async) จึงไม่ไปลบ key ที่ถูกใส่กลับเข้ามาใหม่ภายหลัง
+                .evictionListener((QueryKey key, CachedHits cached, RemovalCause cause) -> {
+                    if (key != null && cached != null) {
+                        unindex(key, cached.terms());
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+    
+    @Override
+    public void load(List<TripDto> batch) {
+        lock.writeLock().lock();
+        try {
+            for (TripDto trip : batch) {
+                put(trip);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+    
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            results.invalidateAll();
+            cachedKeysByTerm.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public void apply(TripChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Document before = documents.get(event.tripId());
+            remove(event.tripId());
+            if (event.type() != TripChangedEvent.Type.DELETED) {
+                put(event.trip());
+            }
+            invalidateChanged(before, documents.get(event.tripId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public SearchHits search(String query, int offset, int limit) {
+        QueryKey key = new QueryKey(TextAnalyzer.normalize(query), offset, limit);
+        CachedHits cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached.hits();
+        }
+        
+        List<String> queryTerms = TextAnalyzer.tokenize(key.query()).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        
+        lock.readLock().lock();
+        try {
+            SearchHits hits = searchTerms(queryTerms, offset, limit);
+            // ใส่ cache ขณะยังถือ read lock: writer ต้องรอจนเสร็จก่อน invalidate จึงไม่มีผลเก่าค้างหลัง invalidate
+            if (ready) {
+                results.put(key, new CachedHits(queryTerms, hits));
+                index(key, queryTerms);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    long cachedQueries() {
+        results.cleanUp();
+        return results.estimatedSize();
+    }
+    
+    private SearchHits searchTerms(List<String> queryTerms, int offset, int limit) {
+        Map<Long, Float> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Float> termScores = scoreTerm(queryTerm);
+            scores = scores == null ? termScores : intersect(scores, termScores);
+            if (scores.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+        }
+        return new SearchHits(topHits(scores, offset, limit), scores.size());
+    }
+    
+    // คำที่น้ำหนักเปลี่ยน (เพิ่ม ลบ หรือนับต่างไป) ใน trip นี้ แล้วทิ้ง query ที่มีคำเป็น prefix ของคำเหล่านั้น
+    private void invalidateChanged(Document before, Document after) {
+        Map<String, Float> oldTerms = before != null ? before.terms() : Map.of();
+        Map<String, Float> newTerms = after != null ? after.terms() : Map.of();
+        Set<String> changed = new HashSet<>();
+        oldTerms.forEach((term, weight) -> {
+            if (!weight.equals(newTerms.get(term))) {
+                changed.add(term);
+            }
+        });
+        newTerms.keySet().stream()
+                .filter(term -> !oldTerms.containsKey(term))
+                .forEach(changed::add);
+        if (changed.isEmpty() || cachedKeysByTerm.isEmpty()) {
+            return;
+        }
+        // query term ที่ต้องทิ้งคือ prefix ทุกตัวของคำที่เปลี่ยน
+        Set<QueryKey> stale = new HashSet<>();
+        for (String term : changed) {
+            for (int end = 1; end <= term.length(); end++) {
+                Set<QueryKey> keys = cachedKeysByTerm.get(term.substring(0, end));
+                if (keys != null) {
+                    stale.addAll(keys);
+                }
+            }
+        }
+        for (QueryKey key : stale) {
+            CachedHits removed = results.asMap().remove(key);
+            if (removed != null) {
+                unindex(key, removed.terms());
+            }
+        }
+    }
+    
+    private void index(QueryKey key, List<String> terms) {
+        for (String term : terms) {
+            // เพิ่มใน compute เดียวกัน: unindex จาก eviction พร้อมกันจะลบชุดว่างทิ้งไปก่อนเรา add ไม่ได้
+            cachedKeysByTerm.compute(term, (t, keys) -> {
+                Set<QueryKey> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                updated.add(key);
+                return updated;
+            });
+        }
+    }
+    
+    private void unindex(QueryKey key, List<String> terms) {
+        for (String term : terms) {
+            cachedKeysByTerm.computeIfPresent(term, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+    
+    private Map<Long, Float> scoreTerm(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        // ขยาย prefix ทุกคำโดยไม่ตัด: ตัดตามลำดับตัวอักษรจะทิ้งคำท้าย ๆ และทำให้ total นับขาด
+        SortedMap<String, Map<Long, Float>> matches = postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            Map<Long, Float> docs = match.getValue();
+            float idf = (float) Math.log(1 + (double) documents.size() / docs.size());
+            float factor = match.getKey().equals(queryTerm) ? 1f : PREFIX_MATCH_FACTOR;
+            for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                float score = doc.getValue() * idf * factor;
+                // คำ query เดียวกันขยายได้หลายคำ ให้นับคะแนนจากคำที่ตรงที่สุดเท่านั้น
+                scores.merge(doc.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+    
+    private static Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> result = new HashMap<>();
+        for (Map.Entry<Long, Float> entry : left.entrySet()) {
+            Float other = right.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+    
+    private List<Long> topHits(Map<Long, Float> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (offset >= scores.size() || limit <= 0) {
+            return List.of();
+        }
+        // heap ขนาด offset+limit แทนการ sort ผลลัพธ์ทั้งหมด
+        PriorityQueue<Scored> heap = new PriorityQueue<>(wanted + 1, BEST_FIRST.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            Document doc = documents.get(entry.getKey());
+            heap.add(new Scored(entry.getKey(), entry.getValue(), doc.createdAt()));
+            if (heap.size() > wanted) {
+                heap.poll();
+            }
+        }
+        List<Scored> best = new ArrayList<>(heap);
+        best.sort(BEST_FIRST);
+        return best.subList(Math.min(offset, best.size()), best.size()).stream()
+                .map(Scored::id)
+                .toList();
+    }
+    
+    private void put(TripDto trip) {
+        remove(trip.getId());
+        
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, trip.getTitle(), TITLE_WEIGHT);
+        if (trip.getTags() != null) {
+            for (String tag : trip.getTags()) {
+                addTerms(terms, tag, TAG_WEIGHT);
+            }
+        }
+        addTerms(terms, trip.getDescription(), DESCRIPTION_WEIGHT);
+        
+        long createdAt = trip.getCreatedAt() != null ? trip.getCreatedAt().toInstant().toEpochMilli() : 0L;
+        documents.put(trip.getId(), new Document(trip.getId(), createdAt, terms));
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(trip.getId(), weight));
+    }
+    
+    private void remove(Long id) {
+        Document existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+}
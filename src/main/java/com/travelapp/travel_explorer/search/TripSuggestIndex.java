@@ -0,0 +1,276 @@
+package com.travelapp.travel_explorer.search;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripSuggestionDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Search-as-you-type over trip tags and titles.
+ *
+ * <p>Every tag and title is stored in a sorted map under each of its word
+ * starts, so {@code krab} finds "Beach hopping in Krabi" and {@code ช้าง} finds
+ * "คู่มือเที่ยวเกาะช้าง". Each entry counts how many trips carry that tag or
+ * title. Suggestions are ranked by count, then by whether the prefix matched
+ * the start of the text, then by length.
+ *
+ * <p>Prefixes of up to {@value #RANKED_PREFIX_LENGTH} characters can match most
+ * of the catalogue, so each of them also keeps its keys in a set ordered best
+ * first, and a lookup reads only the head of that set. Longer prefixes are a
+ * range scan over every matching key, so a popular entry is found however many
+ * less popular keys sort before it.
+ *
+ * <p>The map and the sets are concurrent skip lists, so lookups take no lock.
+ * The single writer (warm-up and committed trip changes) updates counts in
+ * place.
+ */
+@Component
+public class TripSuggestIndex implements TripIndex {
+    
+    // prefix ไม่เกินความยาวนี้อ่านจากชุดที่เรียงตามอันดับไว้แล้ว ไม่ต้องไล่ทุก key ที่ตรง
+    static final int RANKED_PREFIX_LENGTH = 3;
+    // key = คำที่ใช้จับคู่ + SEPARATOR + ชนิด + ข้อความเต็มที่ normalize แล้ว (\0 เรียงก่อนทุกตัวอักษร)
+    private static final char SEPARATOR = '\u0000';
+    
+    public enum Kind {
+        TAG, TITLE;
+        
+        private final String type = name().toLowerCase(Locale.ROOT);
+    }
+    
+    private record Entry(String text, Kind kind, boolean fromStart, int count) {
+        
+        Entry plus(Entry other) {
+            return new Entry(text, kind, fromStart, count + other.count);
+        }
+    }
+    
+    private record Ranked(String key, Entry entry) {
+    }
+    
+    private static final Comparator<Entry> BEST_FIRST = Comparator
+            .comparingInt(Entry::count).reversed()
+            .thenComparing(Entry::fromStart, Comparator.reverseOrder())
+            .thenComparingInt(entry -> entry.text().length())
+            .thenComparing(Entry::text);
+    
+    // ต่อท้ายด้วย key เพื่อให้ entry ที่อันดับเท่ากันแต่ key ต่างกันอยู่ร่วมชุดกันได้
+    private static final Comparator<Ranked> BY_RANK = Comparator
+            .comparing(Ranked::entry, BEST_FIRST)
+            .thenComparing(Ranked::key);
+    
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListSet<Ranked>> rankedByPrefix = new ConcurrentHashMap<>();
+    // key ที่แต่ละ trip ใส่ไว้ ใช้ลดจำนวนตอน trip ถูกแก้หรือลบ (แตะเฉพาะใต้ writeLock)
+    private final Map<Long, List<String>> keysByTrip = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean ready;
+    
+    @Override
+    public void load(List<TripDto> batch) {
+        writeLock.lock();
+        try {
+            for (TripDto trip : batch) {
+                remove(trip.getId());
+                put(trip);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+    
+    @Override
+    public void reset() {
+        writeLock.lock();
+        try {
+            entries.clear();
+            rankedByPrefix.clear();
+            keysByTrip.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public void apply(TripChangedEvent event) {
+        writeLock.lock();
+        try {
+            remove(event.tripId());
+            if (event.type() != TripChangedEvent.Type.DELETED) {
+                put(event.trip());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /** Up to {@code limit} tags and titles with a word starting with {@code prefix}. */
+    public List<TripSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        if (normalized.length() <= RANKED_PREFIX_LENGTH) {
+            return ranked(normalized, limit);
+        }
+        
+        // tag/ชื่อเดียวกันอาจตรงจากหลายคำ เก็บเฉพาะ entry ที่ดีที่สุดต่อข้อความ
+        // ไล่ทุก key ที่ตรง: ตัดตามลำดับตัวอักษรจะทิ้ง entry ยอดนิยมที่เรียงอยู่ท้าย ๆ
+        Map<String, Entry> best = new HashMap<>();
+        for (Map.Entry<String, Entry> match : entries.subMap(normalized, normalized + Character.MAX_VALUE).entrySet()) {
+            best.merge(identity(match.getKey()), match.getValue(), (a, b) -> BEST_FIRST.compare(a, b) <= 0 ? a : b);
+        }
+        return best.values().stream()
+                .sorted(BEST_FIRST)
+                .limit(limit)
+                .map(TripSuggestIndex::toDto)
+                .toList();
+    }
+    
+    private List<TripSuggestionDto> ranked(String prefix, int limit) {
+        Set<Ranked> ranked = rankedByPrefix.get(prefix);
+        if (ranked == null) {
+            return List.of();
+        }
+        // ชุดเรียงดีที่สุดก่อน: ครั้งแรกที่เจอข้อความไหนคือ entry ที่ดีที่สุดของข้อความนั้น
+        Set<String> seen = new HashSet<>();
+        List<TripSuggestionDto> suggestions = new ArrayList<>();
+        for (Ranked match : ranked) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            if (seen.add(identity(match.key()))) {
+                suggestions.add(toDto(match.entry()));
+            }
+        }
+        return suggestions;
+    }
+    
+    private static TripSuggestionDto toDto(Entry entry) {
+        return new TripSuggestionDto(entry.text(), entry.kind().type, entry.count());
+    }
+    
+    private static String identity(String key) {
+        return key.substring(key.indexOf(SEPARATOR) + 1);
+    }
+    
+    private void put(TripDto trip) {
+        List<String> keys = new ArrayList<>();
+        addKeys(trip.getTitle(), Kind.TITLE, keys);
+        if (trip.getTags() != null) {
+            Set<String> seen = new LinkedHashSet<>();
+            for (String tag : trip.getTags()) {
+                if (seen.add(TextAnalyzer.normalize(tag))) {
+                    addKeys(tag, Kind.TAG, keys);
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            keysByTrip.put(trip.getId(), keys);
+        }
+    }
+    
+    private void remove(Long id) {
+        List<String> keys = keysByTrip.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Entry old = entries.get(key);
+            if (old == null) {
+                continue;
+            }
+            if (old.count() > 1) {
+                Entry updated = new Entry(old.text(), old.kind(), old.fromStart(), old.count() - 1);
+                entries.put(key, updated);
+                rerank(key, old, updated);
+            } else {
+                entries.remove(key);
+                rerank(key, old, null);
+            }
+        }
+    }
+    
+    private void add(String key, Entry added) {
+        Entry old = entries.get(key);
+        Entry updated = old == null ? added : old.plus(added);
+        entries.put(key, updated);
+        rerank(key, old, updated);
+    }
+    
+    // ใส่อันดับใหม่ก่อนถอดอันดับเดิม ผู้อ่านที่ไล่ชุดอยู่จะเห็นอย่างน้อยหนึ่งตัวเสมอ (ตัวซ้ำถูกตัดด้วย identity)
+    private void rerank(String key, Entry old, Entry updated) {
+        int matchLength = Math.min(key.indexOf(SEPARATOR), RANKED_PREFIX_LENGTH);
+        for (int length = 1; length <= matchLength; length++) {
+            String prefix = key.substring(0, length);
+            if (updated != null) {
+                rankedByPrefix.computeIfAbsent(prefix, p -> new ConcurrentSkipListSet<>(BY_RANK))
+                        .add(new Ranked(key, updated));
+            }
+            if (old != null) {
+                Set<Ranked> ranked = rankedByPrefix.get(prefix);
+                ranked.remove(new Ranked(key, old));
+                if (ranked.isEmpty()) {
+                    rankedByPrefix.remove(prefix);
+                }
+            }
+        }
+    }
+    
+    private void addKeys(String text, Kind kind, List<String> keys) {
+        String normalized = TextAnalyzer.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String identity = kind.ordinal() + normalized;
+        Entry single = new Entry(text.trim(), kind, false, 1);
+        Entry fromStart = new Entry(text.trim(), kind, true, 1);
+        for (int start : wordStarts(normalized)) {
+            String key = normalized.substring(start) + SEPARATOR + identity;
+            add(key, start == 0 ? fromStart : single);
+            keys.add(key);
+        }
+    }
+    
+    // ตำแหน่งเริ่มของแต่ละคำ (คำจาก TextAnalyzer เรียงตามลำดับในข้อความ) รวมต้นข้อความเสมอ
+    private static Set<Integer> wordStarts(String normalized) {
+        Set<Integer> starts = new LinkedHashSet<>();
+        starts.add(0);
+        int from = 0;
+        for (String token : TextAnalyzer.tokenize(normalized)) {
+            int start = normalized.indexOf(token, from);
+            if (start < 0) {
+                break;
+            }
+            starts.add(start);
+            from = start + token.length();
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,17 @@
+package com.travelapp.travel_explorer.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built straight from verified JWT claims, so authenticated requests
+ * never need to load a {@code UserDetails} from the database.
+ * {@link #getName()} is the email, which keeps {@code authentication.getName()}
+ * working as before.
+ */
+public record AuthenticatedUser(Long id, String email) implements Principal {
+    
+    @Override
+    public String getName() {
+        return email;
+    }
+}
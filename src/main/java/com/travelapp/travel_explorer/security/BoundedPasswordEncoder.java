@@ -0,0 +1,72 @@
+package com.travelapp.travel_explorer.security;
+
+import com.travelapp.travel_explorer.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every hash on a small bounded pool instead of the calling request
+ * thread. A burst of logins can then only use as many CPUs as the pool has
+ * threads, and once the queue is full further logins fail fast with 503
+ * instead of piling up behind each other while browse traffic starves.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    // อ่าน cost จาก hash ที่เก็บไว้เท่านั้น ไม่ต้อง hash จึงไม่ต้องผ่าน pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    private <T> T run(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many sign-in attempts in progress, please retry shortly");
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new PasswordHashingBusyException("Sign-in is taking too long, please retry shortly");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Sign-in was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -1,26 +1,34 @@
 package com.travelapp.travel_explorer.security;
 
+import com.travelapp.travel_explorer.cache.UserStateCache;
+import com.travelapp.travel_explorer.dto.UserDto;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    private static final List<SimpleGrantedAuthority> USER_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -28,16 +36,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            // parse ครั้งเดียว ได้ทั้งผลการ validate และ claims
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : Optional.empty();
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            // principal สร้างจาก claims + cache สถานะ user ไม่ต้อง query DB ทุก request
+            Optional<UserDto> user = claims
+                    .map(c -> c.get("userId", Long.class))
+                    .flatMap(userStateCache::get);
+            
+            if (user.isPresent()) {
+                AuthenticatedUser principal = new AuthenticatedUser(user.get().getId(), user.get().getEmail());
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
-                                userDetails, 
+                                principal, 
                                 null, 
-                                userDetails.getAuthorities()
+                                USER_AUTHORITIES
                         );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
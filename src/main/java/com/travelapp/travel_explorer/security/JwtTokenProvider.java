@@ -1,26 +1,63 @@
 package com.travelapp.travel_explorer.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
     
+    private final MeterRegistry meterRegistry;
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+    
+    // สร้าง key และ parser ครั้งเดียวตอน startup แทนการสร้างใหม่ทุก request
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+    private Timer verifyTimer;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures on cache misses")
+                .register(meterRegistry);
     }
     
     public String generateToken(String email, Long userId) {
@@ -32,39 +69,88 @@ public class JwtTokenProvider {
                 .claim("userId", userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token and returns its claims, or empty if it is invalid or
+     * expired. Verified claims are cached by token hash until the token's
+     * {@code exp}, so repeat requests with the same bearer token skip signature
+     * verification.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return Optional.of(cached);
+        }
+        
+        Claims claims;
+        long started = System.nanoTime();
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        } finally {
+            verifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
         
-        return claims.getSubject();
+        // token ที่ไม่มี exp ไม่ cache เพราะไม่รู้ว่าควรหมดอายุเมื่อไร
+        if (claims.getExpiration() != null) {
+            claimsCache.put(key, claims);
+        }
+        return Optional.of(claims);
+    }
+    
+    public String getEmailFromToken(String token) {
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
     
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("userId", Long.class);
+        return parseClaims(token)
+                .map(claims -> claims.get("userId", Long.class))
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
     
     public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+    
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+    
+    private static String hash(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,151 @@
+package com.travelapp.travel_explorer.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.travelapp.travel_explorer.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per email and per client IP in fixed windows that start
+ * at the first attempt. Every attempt is reserved before its password is
+ * hashed and counts as a failure unless it succeeds. Once a key has used up
+ * its limit, further attempts are refused with 429 before any hashing, so a
+ * credential-stuffing run costs a map lookup instead of a BCrypt round. A
+ * successful login clears the email's count but not the IP's failures.
+ *
+ * <p>Counters are {@link AtomicInteger}s in a bounded Caffeine cache: updates
+ * are lock-free, and the least recently used keys are evicted when there are
+ * more than {@code maxEntries} of them.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Duration window;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Ticker ticker;
+    private final Cache<String, Attempts> byEmail;
+    private final Cache<String, Attempts> byIp;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.throttle.window:15m}") Duration window,
+                         @Value("${auth.throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                         @Value("${auth.throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                         @Value("${auth.throttle.max-entries:100000}") long maxEntries,
+                         MeterRegistry meterRegistry) {
+        this(window, maxFailuresPerEmail, maxFailuresPerIp, maxEntries, meterRegistry, Ticker.systemTicker());
+    }
+
+    LoginThrottle(Duration window, int maxFailuresPerEmail, int maxFailuresPerIp, long maxEntries,
+                  MeterRegistry meterRegistry, Ticker ticker) {
+        this.window = window;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.ticker = ticker;
+        this.byEmail = newCache(maxEntries);
+        this.byIp = newCache(maxEntries);
+        this.throttledByEmail = throttledCounter("email", meterRegistry);
+        this.throttledByIp = throttledCounter("ip", meterRegistry);
+    }
+
+    /**
+     * Reserves one attempt for the email and the IP before the password is
+     * checked, so parallel guesses cannot all slip past the limit while their
+     * hashes are still queued. Throws {@link LoginThrottledException} when
+     * either key has no attempts left. A reservation stays counted as a
+     * failure unless it is given back with {@link #recordSuccess} or
+     * {@link #release}.
+     */
+    public void reserve(String email, String clientIp) {
+        String emailKey = normalize(email);
+        long retryAfter = tryReserve(byEmail, emailKey, maxFailuresPerEmail);
+        if (retryAfter > 0) {
+            throttledByEmail.increment();
+            throw new LoginThrottledException("Too many failed logins for this account, please retry later", retryAfter);
+        }
+        retryAfter = tryReserve(byIp, clientIp, maxFailuresPerIp);
+        if (retryAfter > 0) {
+            giveBack(byEmail, emailKey);
+            throttledByIp.increment();
+            throw new LoginThrottledException("Too many failed logins from this address, please retry later", retryAfter);
+        }
+    }
+    
+    /** Correct password: clears the email's count and returns the IP's reservation. */
+    public void recordSuccess(String email, String clientIp) {
+        byEmail.invalidate(normalize(email));
+        giveBack(byIp, clientIp);
+    }
+    
+    /** The password was never checked (e.g. hashing busy): returns both reservations. */
+    public void release(String email, String clientIp) {
+        giveBack(byEmail, normalize(email));
+        giveBack(byIp, clientIp);
+    }
+    
+    // increment ก่อนแล้วค่อยเทียบ: request ที่มาพร้อมกันได้ลำดับจาก AtomicInteger จึงผ่านได้ไม่เกิน limit
+    // คืนค่า 0 = จองได้, มากกว่า 0 = วินาทีที่ต้องรอจนหมด window
+    private long tryReserve(Cache<String, Attempts> cache, String key, int limit) {
+        if (key == null) {
+            return 0;
+        }
+        Attempts attempts = cache.get(key, k -> new Attempts(ticker.read()));
+        if (attempts.failures.incrementAndGet() <= limit) {
+            return 0;
+        }
+        attempts.failures.decrementAndGet();
+        long remaining = window.toNanos() - (ticker.read() - attempts.windowStart);
+        return Math.max(1, Duration.ofNanos(remaining).toSeconds());
+    }
+    
+    private static void giveBack(Cache<String, Attempts> cache, String key) {
+        if (key == null) {
+            return;
+        }
+        Attempts attempts = cache.getIfPresent(key);
+        if (attempts != null) {
+            // entry อาจหมดอายุแล้วถูกสร้างใหม่ระหว่างนั้น อย่าให้ติดลบ
+            attempts.failures.updateAndGet(n -> Math.max(0, n - 1));
+        }
+    }
+    
+    private Cache<String, Attempts> newCache(long maxEntries) {
+        // window เริ่มตอนสร้าง entry (ความพยายามครั้งแรก) และไม่ถูกเขียนทับ จึงหมดอายุพร้อม window
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(window)
+                .ticker(ticker)
+                .build();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter throttledCounter(String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts refused because of too many recent failures")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    private static final class Attempts {
+        private final long windowStart;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Attempts(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.travelapp.travel_explorer.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+    
+    /**
+     * Bounded pool for BCrypt. Hashing is pure CPU, so the thread count is the
+     * share of the machine that logins and registers may take; the rest stays
+     * free for other traffic. Stays on platform threads in virtual-thread mode.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.threads(),
+                properties.threads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+    
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                           @Qualifier("passwordHashingExecutor") ExecutorService executor,
+                                           MeterRegistry meterRegistry) {
+        int strength = properties.strength() > 0
+                ? properties.strength()
+                : calibrate(properties.targetTime(), PasswordHashingProperties.MIN_STRENGTH,
+                        PasswordHashingProperties.MAX_STRENGTH);
+        log.info("BCrypt strength {} ({} hashing threads, queue {})",
+                strength, properties.threads(), properties.queueCapacity());
+        PasswordEncoder bcrypt = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
+        return new BoundedPasswordEncoder(bcrypt, executor, properties.timeout());
+    }
+    
+    /**
+     * Highest strength in {@code [min, max]} whose hash time on this machine
+     * stays within {@code target}. Each step doubles the work, so one
+     * measurement at {@code min} is enough to extrapolate.
+     */
+    static int calibrate(Duration target, int min, int max) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(min);
+        probe.encode("calibration");
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            probe.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - started);
+        }
+        int strength = min;
+        long estimate = fastest;
+        while (strength < max && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,45 @@
+package com.travelapp.travel_explorer.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for password hashing ({@code password.hashing.*}).
+ *
+ * @param strength       BCrypt log rounds; 0 calibrates at startup to {@code targetTime}
+ * @param targetTime     how long one hash should take when calibrating
+ * @param threads        hashes computed at the same time, i.e. the most CPU logins and registers can use
+ * @param queueCapacity  hashes waiting for a thread before requests are rejected with 503
+ * @param timeout        longest a request waits for its hash, queueing included
+ */
+@ConfigurationProperties(prefix = "password.hashing")
+public record PasswordHashingProperties(
+        int strength,
+        Duration targetTime,
+        int threads,
+        int queueCapacity,
+        Duration timeout) {
+    
+    /** Never calibrate below Spring Security's default cost. */
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 14;
+    
+    public PasswordHashingProperties {
+        if (strength != 0 && (strength < 4 || strength > 31)) {
+            throw new IllegalArgumentException("password.hashing.strength must be between 4 and 31, or 0 to calibrate");
+        }
+        if (targetTime == null || targetTime.isZero() || targetTime.isNegative()) {
+            targetTime = Duration.ofMillis(100);
+        }
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = 32;
+        }
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            timeout = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.travelapp.travel_explorer.security;
 
+import com.travelapp.travel_explorer.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 
 @Configuration
@@ -27,11 +33,11 @@ import java.util.Arrays;
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    // token คงที่สำหรับ Prometheus scrape (/actuator/prometheus) ว่าง = ปิด endpoint นี้ (JWT ของ user ทั่วไปใช้ไม่ได้)
+    @Value("${prometheus.scrape-token:}")
+    private String scrapeToken;
     
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -46,23 +52,47 @@ public class SecurityConfig {
             .httpBasic(httpBasic -> httpBasic.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // ✅ async dispatch ของ endpoint ที่ stream (Flux/Mono) ผ่านการตรวจสิทธิ์ไปแล้วตอน request แรก
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // ✅ login/register ไม่ต้อง token
                 .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
                 // ❌ /api/auth/me ต้อง login
                 .requestMatchers("/api/auth/me").authenticated()
+                // ❌ trip ของฉันและ export ต้อง login (ต้องมาก่อนกฎ GET /api/trips/**)
+                .requestMatchers(HttpMethod.GET, "/api/trips/mine").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/trips/export").authenticated()
                 // ✅ GET trips ไม่ต้อง login
                 .requestMatchers(HttpMethod.GET, "/api/trips/**").permitAll()
+                // read path แบบ stream (/api/rx/trips) ใช้กฎเดียวกับฝั่ง servlet
+                .requestMatchers(HttpMethod.GET, "/api/rx/trips/mine").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/rx/trips/**").permitAll()
                 // ❌ POST, PUT, DELETE trips ต้อง login
                 .requestMatchers(HttpMethod.POST, "/api/trips/**").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/trips/**").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/trips/**").authenticated()
+                // ✅ health ให้ liveness/readiness probe เรียกได้โดยไม่ต้อง token (ตอบแค่ status ไม่มีรายละเอียด)
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                // ❌ metrics ต้องแนบ scrape token เท่านั้น ใครก็ register ได้ JWT อย่างเดียวจึงไม่พอ
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus").access(scrapeTokenOnly())
+                .requestMatchers("/actuator/**").denyAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // จำกัดต่อ user id ได้เพราะรู้ตัวผู้ใช้จาก JWT แล้ว
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
     
+    private AuthorizationManager<RequestAuthorizationContext> scrapeTokenOnly() {
+        byte[] expected = ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String header = context.getRequest().getHeader("Authorization");
+            return new AuthorizationDecision(!scrapeToken.isEmpty() && header != null
+                    && MessageDigest.isEqual(expected, header.getBytes(StandardCharsets.UTF_8)));
+        };
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
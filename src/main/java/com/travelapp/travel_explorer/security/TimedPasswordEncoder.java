@@ -0,0 +1,47 @@
+package com.travelapp.travel_explorer.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records the time spent hashing passwords as {@code password.hash}, tagged
+ * {@code operation=encode} (register) or {@code operation=matches} (login).
+ * At BCrypt strength 10 each call is tens of milliseconds of CPU, so this is
+ * usually the most expensive thing the auth endpoints do.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer("encode", meterRegistry);
+        this.matchesTimer = timer("matches", meterRegistry);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    private static Timer timer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("password.hash")
+                .description("Time spent hashing or verifying passwords")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.travelapp.travel_explorer.service;
 
+import com.travelapp.travel_explorer.cache.UserStateCache;
 import com.travelapp.travel_explorer.dto.AuthResponse;
 import com.travelapp.travel_explorer.dto.LoginRequest;
 import com.travelapp.travel_explorer.dto.RegisterRequest;
@@ -9,12 +10,14 @@ import com.travelapp.travel_explorer.exception.DuplicateEmailException;
 import com.travelapp.travel_explorer.exception.ResourceNotFoundException;
 import com.travelapp.travel_explorer.repository.UserRepository;
 import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import com.travelapp.travel_explorer.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,19 +27,33 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserStateCache userStateCache;
+    private final LoginThrottle loginThrottle;
     
-    @Transactional
+    // ไม่ครอบด้วย @Transactional: hash อาจรอคิวใน BoundedPasswordEncoder ได้หลายวินาที ห้ามถือ connection ระหว่างนั้น
     public AuthResponse register(RegisterRequest request) {
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateEmailException("This email is already registered");
         }
         
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHash);
         user.setDisplayName(request.getDisplayName());
         
-        User savedUser = userRepository.save(user);
+        // flush ทันทีเพื่อให้ createdAt ถูกเซ็ต (insert ไม่ได้เกิดตอน save แล้วเพราะ id มาจาก sequence)
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // สมัครพร้อมกันด้วย email เดียวกัน: unique constraint ของ email เป็นตัวตัดสิน
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new DuplicateEmailException("This email is already registered");
+            }
+            throw e;
+        }
         
         String token = jwtTokenProvider.generateToken(savedUser.getEmail(), savedUser.getId());
         
@@ -44,13 +61,26 @@ public class AuthService {
         return new AuthResponse(token, userDto);
     }
     
-    public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // ✅ จองสิทธิ์ก่อน hash รหัสผ่าน: request ที่ถูกจำกัดไม่กิน CPU ของ BCrypt และยิงพร้อมกันก็ผ่านไม่เกิน limit
+        loginThrottle.reserve(request.getEmail(), clientIp);
+        try {
+            // ถ้า hash ที่เก็บไว้ใช้ cost ต่ำกว่าปัจจุบัน Spring Security จะ rehash และบันทึกผ่าน CustomUserDetailsService
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            // รหัสผิด: สิทธิ์ที่จองไว้นับเป็นความล้มเหลว
+            throw e;
+        } catch (RuntimeException e) {
+            // ยังไม่ได้ตรวจรหัส (เช่น hash pool เต็ม) ไม่นับเป็นความล้มเหลว
+            loginThrottle.release(request.getEmail(), clientIp);
+            throw e;
+        }
+        loginThrottle.recordSuccess(request.getEmail(), clientIp);
         
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -61,10 +91,9 @@ public class AuthService {
         return new AuthResponse(token, userDto);
     }
     
-    public UserDto getCurrentUser(String username) {
-        User user = userRepository.findByEmail(username)
+    public UserDto getCurrentUser(Long userId) {
+        return userStateCache.get(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return convertToDto(user);
     }
     
     private UserDto convertToDto(User user) {
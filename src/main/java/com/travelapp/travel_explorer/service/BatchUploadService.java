@@ -0,0 +1,107 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.dto.BatchUploadResponse;
+import com.travelapp.travel_explorer.dto.BatchUploadResult;
+import com.travelapp.travel_explorer.dto.ImageUploadResponse;
+import com.travelapp.travel_explorer.exception.InvalidFileException;
+import com.travelapp.travel_explorer.exception.StorageBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uploads several photos from one request. Every file is validated before any
+ * transfer starts. Up to {@code upload.batch.parallelism} files are then sent
+ * at the same time, so the batch takes roughly as long as its slowest file.
+ */
+@Slf4j
+@Service
+public class BatchUploadService {
+    
+    private final ImageUploadService imageUploadService;
+    private final SupabaseStorageService storageService;
+    private final ExecutorService uploadBatchExecutor;
+    private final int parallelism;
+    private final int maxFiles;
+    
+    public BatchUploadService(ImageUploadService imageUploadService,
+                              SupabaseStorageService storageService,
+                              @Qualifier("uploadBatchExecutor") ExecutorService uploadBatchExecutor,
+                              @Value("${upload.batch.parallelism:4}") int parallelism,
+                              @Value("${upload.batch.max-files:20}") int maxFiles) {
+        this.imageUploadService = imageUploadService;
+        this.storageService = storageService;
+        this.uploadBatchExecutor = uploadBatchExecutor;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxFiles = maxFiles;
+    }
+    
+    public BatchUploadResponse upload(List<MultipartFile> files) {
+        validate(files);
+        
+        BatchUploadResult[] results = new BatchUploadResult[files.size()];
+        AtomicInteger next = new AtomicInteger();
+        // worker แต่ละตัวดึงไฟล์ถัดไปเอง จำนวน worker จึงเท่ากับจำนวนไฟล์ที่ส่งพร้อมกันสูงสุด
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+                results[i] = uploadOne(i, files.get(i));
+            }
+        };
+        int workers = Math.min(parallelism, files.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[workers];
+        for (int w = 0; w < workers; w++) {
+            running[w] = CompletableFuture.runAsync(worker, uploadBatchExecutor);
+        }
+        CompletableFuture.allOf(running).join();
+        
+        int succeeded = 0;
+        for (BatchUploadResult result : results) {
+            if (result.getError() == null) {
+                succeeded++;
+            }
+        }
+        return new BatchUploadResponse(List.of(results), succeeded, results.length - succeeded);
+    }
+    
+    private void validate(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new InvalidFileException("Please select at least one file to upload");
+        }
+        if (files.size() > maxFiles) {
+            throw new InvalidFileException("Too many files: at most " + maxFiles + " per request");
+        }
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                storageService.validateImage(files.get(i));
+            } catch (InvalidFileException e) {
+                problems.add("file " + i + " (" + files.get(i).getOriginalFilename() + "): " + e.getMessage());
+            }
+        }
+        // ❌ มีไฟล์ไม่ผ่านแม้แต่ไฟล์เดียว ไม่อัปโหลดอะไรเลย
+        if (!problems.isEmpty()) {
+            throw new InvalidFileException("Invalid files: " + String.join("; ", problems));
+        }
+    }
+    
+    private BatchUploadResult uploadOne(int index, MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        try {
+            ImageUploadResponse uploaded = imageUploadService.upload(file);
+            return new BatchUploadResult(index, filename, uploaded.getUrl(), uploaded.getRenditions(), null);
+        } catch (InvalidFileException | StorageBusyException e) {
+            return new BatchUploadResult(index, filename, null, null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Batch upload of {} failed", filename, e);
+            return new BatchUploadResult(index, filename, null, null, "Upload failed");
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decodes an image once and re-encodes it as JPEG renditions. All methods are
+ * CPU-bound and meant to run on the {@code imageProcessingExecutor}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageProcessor {
+    
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+    
+    private final ImageProperties properties;
+    
+    /** Width and height read from the header only, without decoding pixels. */
+    public record ImageInfo(int width, int height) {
+        
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+    
+    public interface InputStreamSupplier {
+        InputStream open() throws IOException;
+    }
+    
+    /** Empty if no installed ImageIO reader understands the format (e.g. WebP, HEIC). */
+    public Optional<ImageInfo> probe(InputStreamSupplier source) throws IOException {
+        try (InputStream in = source.open(); ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Optional<ImageReader> reader = readerFor(iis);
+            if (reader.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new ImageInfo(reader.get().getWidth(0), reader.get().getHeight(0)));
+            } finally {
+                reader.get().dispose();
+            }
+        }
+    }
+    
+    /**
+     * Decodes the image and returns encoded JPEG bytes per configured rendition,
+     * in configuration order.
+     */
+    public Map<String, byte[]> render(InputStreamSupplier source) throws IOException {
+        BufferedImage decoded = decode(source);
+        
+        Map<String, byte[]> renditions = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> rendition : properties.renditions().entrySet()) {
+            BufferedImage scaled = scaleToFit(decoded, rendition.getValue());
+            renditions.put(rendition.getKey(), encodeJpeg(scaled, properties.quality()));
+        }
+        return renditions;
+    }
+    
+    private BufferedImage decode(InputStreamSupplier source) throws IOException {
+        try (InputStream in = source.open(); ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            ImageReader reader = readerFor(iis).orElseThrow(() -> new IOException("Unsupported image format"));
+            try {
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                // ถอดรหัสแบบ subsample ตั้งแต่ต้น ไม่ต้องถือ bitmap ขนาดเต็มในหน่วยความจำ
+                int subsampling = Math.max(1, longestEdge / Math.max(1, properties.largestRendition()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                
+                BufferedImage image = reader.read(0, param);
+                int orientation = exifOrientation(reader.getImageMetadata(0));
+                return applyOrientation(toRgb(image), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    private static Optional<ImageReader> readerFor(ImageInputStream iis) {
+        if (iis == null) {
+            return Optional.empty();
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            return Optional.empty();
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(iis, true, false);
+        return Optional.of(reader);
+    }
+    
+    // JPEG ไม่มี alpha: วางรูปบนพื้นขาวก่อน (PNG โปร่งใสจะไม่กลายเป็นพื้นดำ)
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+    
+    static BufferedImage scaleToFit(BufferedImage image, int maxEdge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (Math.max(width, height) <= maxEdge) {
+            return image;
+        }
+        double scale = (double) maxEdge / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        
+        // ย่อทีละครึ่งจนใกล้ขนาดเป้าหมาย ภาพจะคมกว่าการย่อ bilinear ครั้งเดียว
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+    
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+    
+    static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+    
+    /** Reads the EXIF orientation (1–8) from a JPEG's APP1 segment; 1 if absent. */
+    static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !"javax_imageio_jpeg_image_1.0".equals(metadata.getNativeMetadataFormatName())) {
+            return 1;
+        }
+        Node markers = findChild(metadata.getAsTree("javax_imageio_jpeg_image_1.0"), "markerSequence");
+        if (markers == null) {
+            return 1;
+        }
+        for (Node child = markers.getFirstChild(); child != null; child = child.getNextSibling()) {
+            NamedNodeMap attributes = child.getAttributes();
+            Node tag = attributes != null ? attributes.getNamedItem("MarkerTag") : null;
+            // APP1 (0xE1 = 225) คือ segment ที่เก็บ EXIF
+            if (tag != null && "225".equals(tag.getNodeValue()) && child instanceof IIOMetadataNode node
+                    && node.getUserObject() instanceof byte[] app1) {
+                return parseExifOrientation(app1);
+            }
+        }
+        return 1;
+    }
+    
+    private static Node findChild(Node parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (name.equals(child.getNodeName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+    
+    static int parseExifOrientation(byte[] app1) {
+        // "Exif\0\0" ตามด้วย TIFF header: byte order (II/MM), 42, offset ของ IFD0
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifdOffset = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(ifdOffset));
+            for (int i = 0; i < entries; i++) {
+                int entry = ifdOffset + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == EXIF_ORIENTATION_TAG) {
+                    int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                    return orientation >= 1 && orientation <= 8 ? orientation : 1;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            return 1;
+        }
+        return 1;
+    }
+    
+    // รูปจากมือถือมักเก็บแนวนอนแล้วบอกมุมหมุนใน EXIF ต้องหมุนเองเพราะ JPEG ที่เขียนใหม่ไม่มี EXIF
+    static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        // แต่ละค่า map (x, y) ของภาพที่เก็บไว้ไปยังตำแหน่งที่ถูกต้องสำหรับแสดงผล
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirror แนวนอน
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // หมุน 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirror แนวตั้ง
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // หมุน 90° ตามเข็ม
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: หมุน 90° ทวนเข็ม
+        };
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(image, t, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+}
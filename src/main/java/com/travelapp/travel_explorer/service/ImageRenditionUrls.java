@@ -0,0 +1,49 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Object layout of processed uploads: {@code <folder>/original.<ext>} next to
+ * {@code <folder>/<rendition>.jpg}. Rendition URLs can therefore be derived from
+ * a stored photo URL alone, with no extra column on {@code trips}. Photos
+ * uploaded before the pipeline existed have no renditions.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageRenditionUrls {
+    
+    public static final String ORIGINAL = "original";
+    public static final String RENDITION_EXTENSION = ".jpg";
+    
+    private final ImageProperties properties;
+    
+    public String originalObjectName(String folder, String extension) {
+        return folder + "/" + ORIGINAL + "." + extension;
+    }
+    
+    public String renditionObjectName(String folder, String rendition) {
+        return folder + "/" + rendition + RENDITION_EXTENSION;
+    }
+    
+    /** Rendition name to URL for a stored photo; empty for photos without renditions. */
+    public Map<String, String> forPhoto(String photoUrl) {
+        if (photoUrl == null) {
+            return Map.of();
+        }
+        int slash = photoUrl.lastIndexOf('/');
+        if (slash < 0 || !photoUrl.startsWith(ORIGINAL + ".", slash + 1)) {
+            return Map.of();
+        }
+        String base = photoUrl.substring(0, slash + 1);
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String rendition : properties.renditions().keySet()) {
+            urls.put(rendition, base + rendition + RENDITION_EXTENSION);
+        }
+        return urls;
+    }
+}
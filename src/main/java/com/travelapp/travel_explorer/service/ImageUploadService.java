@@ -0,0 +1,136 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import com.travelapp.travel_explorer.dto.ImageUploadResponse;
+import com.travelapp.travel_explorer.exception.StorageBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Upload pipeline for photos: stores the original and, when the format can be
+ * decoded, a resized JPEG per configured rendition next to it. Decoding and
+ * encoding run on the bounded image pool while the request thread streams the
+ * original to storage. Once the original is stored the upload succeeds: an
+ * image that cannot be decoded, or a rendition that cannot be stored, only
+ * leaves renditions out of the response.
+ */
+@Slf4j
+@Service
+public class ImageUploadService {
+    
+    private static final long PROCESSING_TIMEOUT_SECONDS = 60;
+    
+    private final SupabaseStorageService storageService;
+    private final ImageProcessor imageProcessor;
+    private final ImageRenditionUrls renditionUrls;
+    private final ImageProperties properties;
+    private final ExecutorService imageProcessingExecutor;
+    
+    public ImageUploadService(SupabaseStorageService storageService,
+                              ImageProcessor imageProcessor,
+                              ImageRenditionUrls renditionUrls,
+                              ImageProperties properties,
+                              @Qualifier("imageProcessingExecutor") ExecutorService imageProcessingExecutor) {
+        this.storageService = storageService;
+        this.imageProcessor = imageProcessor;
+        this.renditionUrls = renditionUrls;
+        this.properties = properties;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+    
+    public ImageUploadResponse upload(MultipartFile file) {
+        storageService.validateImage(file);
+        
+        Optional<ImageProcessor.ImageInfo> info = probe(file);
+        if (info.isEmpty() || info.get().pixels() > properties.maxPixels()) {
+            // format ที่ ImageIO อ่านไม่ได้ (เช่น WebP/HEIC) หรือรูปใหญ่เกิน: เก็บต้นฉบับอย่างเดียวแบบเดิม
+            return new ImageUploadResponse(storageService.uploadFile(file), Map.of());
+        }
+        
+        Future<Map<String, byte[]>> rendering = submitRendering(file);
+        String folder = System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        String originalUrl;
+        try {
+            // ส่งต้นฉบับขึ้น storage ระหว่างที่ worker กำลังย่อรูป
+            originalUrl = storageService.store(renditionUrls.originalObjectName(folder, extensionOf(file)), file);
+        } catch (RuntimeException e) {
+            rendering.cancel(true);
+            throw e;
+        }
+        
+        // ต้นฉบับเก็บไปแล้ว: จากนี้ถ้าย่อรูปไม่สำเร็จให้คืนต้นฉบับอย่างเดียว ไม่ทำให้ทั้ง upload ล้มแล้วทิ้งไฟล์ค้างใน bucket
+        Map<String, byte[]> encoded;
+        try {
+            encoded = rendering.get(PROCESSING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            rendering.cancel(true);
+            Thread.currentThread().interrupt();
+            return new ImageUploadResponse(originalUrl, Map.of());
+        } catch (TimeoutException e) {
+            rendering.cancel(true);
+            log.warn("Image processing of {} timed out; storing the original only", file.getOriginalFilename());
+            return new ImageUploadResponse(originalUrl, Map.of());
+        } catch (ExecutionException e) {
+            // probe อ่าน header ได้แต่ถอดรหัสไม่ได้ (เช่น JPEG แบบ CMYK/YCCK)
+            log.warn("Could not render image {}; storing the original only", file.getOriginalFilename(), e.getCause());
+            return new ImageUploadResponse(originalUrl, Map.of());
+        }
+        
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> rendition : encoded.entrySet()) {
+            try {
+                urls.put(rendition.getKey(), storageService.store(
+                        renditionUrls.renditionObjectName(folder, rendition.getKey()), "image/jpeg", rendition.getValue()));
+            } catch (RuntimeException e) {
+                // คืนเท่าที่เก็บได้ storage ติดอยู่แบบนี้ตัวถัดไปก็น่าจะไม่ผ่านเหมือนกัน
+                log.warn("Could not store rendition {} of {}; returning the renditions stored so far",
+                        rendition.getKey(), file.getOriginalFilename(), e);
+                break;
+            }
+        }
+        return new ImageUploadResponse(originalUrl, urls);
+    }
+    
+    private Optional<ImageProcessor.ImageInfo> probe(MultipartFile file) {
+        try {
+            return imageProcessor.probe(file::getInputStream);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private Future<Map<String, byte[]>> submitRendering(MultipartFile file) {
+        try {
+            return imageProcessingExecutor.submit(() -> imageProcessor.render(file::getInputStream));
+        } catch (RejectedExecutionException e) {
+            throw new StorageBusyException("Image processing is busy, please retry shortly");
+        }
+    }
+    
+    private static String extensionOf(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name != null) {
+            int dot = name.lastIndexOf('.');
+            if (dot >= 0 && dot < name.length() - 1) {
+                return name.substring(dot + 1).toLowerCase(Locale.ROOT);
+            }
+        }
+        // ไม่มีนามสกุล: ใช้ subtype ของ content type เช่น image/png -> png
+        return file.getContentType().substring("image/".length());
+    }
+}
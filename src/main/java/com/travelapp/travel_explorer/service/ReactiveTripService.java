@@ -0,0 +1,122 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.cache.TripDtoCache;
+import com.travelapp.travel_explorer.dto.StreamedTripDto;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.exception.ResourceNotFoundException;
+import com.travelapp.travel_explorer.repository.ReactiveTripRepository;
+import com.travelapp.travel_explorer.search.SearchCursor;
+import com.travelapp.travel_explorer.search.TripSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the read half of {@link TripService}. Every method
+ * returns a publisher that emits trips one at a time; nothing here collects a
+ * whole result set, except the bounded id batches used to restore search order.
+ * Listings and search results carry the cursor that resumes right after each
+ * trip, so a client can page with the last cursor it received.
+ */
+@Service
+@ConditionalOnProperty(name = "trips.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTripService {
+    
+    public static final int DEFAULT_SEARCH_LIMIT = 100;
+    public static final int MAX_SEARCH_LIMIT = 1000;
+    // จำนวน id ต่อ query ตอนเติมข้อมูลผลค้นหาจาก index
+    private static final int HYDRATE_BATCH_SIZE = 100;
+    
+    private final ReactiveTripRepository reactiveTripRepository;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripDtoCache tripDtoCache;
+    private final TripMapper tripMapper;
+    
+    /**
+     * Up to one page of trips newest first, starting after {@code cursor}. Same
+     * default and cap as {@code GET /api/trips}; the whole table is only
+     * available through the authenticated export.
+     */
+    public Flux<StreamedTripDto> streamTrips(String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        TripCursor after = cursor == null || cursor.isBlank() ? null : TripCursor.decode(cursor);
+        Flux<TripDto> rows = after == null
+                ? reactiveTripRepository.findNewestFirst(size)
+                : reactiveTripRepository.findNewestFirstAfter(after.createdAt(), after.id(), size);
+        return rows.map(tripMapper::withRenditions)
+                .map(trip -> new StreamedTripDto(trip, new TripCursor(trip.getCreatedAt(), trip.getId()).encode()));
+    }
+    
+    // cache ของ GET /api/trips/{id} อ่านได้โดยไม่ block จึงลองก่อน แต่ไม่เติม cache จากฝั่งนี้
+    public Mono<TripDto> getTripById(Long id) {
+        return Mono.justOrEmpty(tripDtoCache.getIfPresent(id))
+                .switchIfEmpty(reactiveTripRepository.findById(id).map(tripMapper::withRenditions))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Trip not found with id: " + id)));
+    }
+    
+    public Flux<TripDto> getMyTrips(Long userId) {
+        return reactiveTripRepository.findByAuthorId(userId).map(tripMapper::withRenditions);
+    }
+    
+    /**
+     * Up to {@code limit} search results best match first, starting at the
+     * offset in {@code cursor} (a {@link SearchCursor} from an earlier result).
+     */
+    public Flux<StreamedTripDto> searchTrips(String query, String cursor, Integer limit) {
+        int size = resolveSearchLimit(limit);
+        int offset = SearchCursor.decode(cursor).offset();
+        if (!tripSearchIndex.isReady()) {
+            // index ยังโหลดไม่เสร็จ (ช่วง startup) ใช้ LIKE query เหมือนฝั่ง servlet
+            return reactiveTripRepository.searchNewestFirst(query, offset, size)
+                    .map(tripMapper::withRenditions)
+                    .index((position, trip) -> new StreamedTripDto(trip, nextSearchCursor(offset, position)));
+        }
+        List<Long> ids = tripSearchIndex.search(query, offset, size).ids();
+        return Flux.fromIterable(ids)
+                .index()
+                .buffer(HYDRATE_BATCH_SIZE)
+                .concatMap(hits -> loadInOrder(offset, hits));
+    }
+    
+    // ดึงทีละชุดแล้วเรียงกลับตามลำดับคะแนนของ index (id ที่ถูกลบไปแล้วจะหายไปเฉย ๆ)
+    // cursor ใช้ตำแหน่งในผลของ index ไม่ใช่ลำดับที่ส่งออก trip ที่หายไปจึงไม่ทำให้หน้าถัดไปเลื่อนผิด
+    private Flux<StreamedTripDto> loadInOrder(int offset, List<Tuple2<Long, Long>> hits) {
+        return reactiveTripRepository.findByIdIn(hits.stream().map(Tuple2::getT2).toList())
+                .collectMap(TripDto::getId)
+                .flatMapIterable(byId -> hits.stream()
+                        .filter(hit -> byId.containsKey(hit.getT2()))
+                        .map(hit -> new StreamedTripDto(tripMapper.withRenditions(byId.get(hit.getT2())),
+                                nextSearchCursor(offset, hit.getT1())))
+                        .toList());
+    }
+    
+    private static String nextSearchCursor(int offset, long position) {
+        return SearchCursor.encodeOrNull(Math.toIntExact(offset + position + 1));
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return TripService.DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > TripService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + TripService.MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+    
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_SEARCH_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -1,16 +1,28 @@
 package com.travelapp.travel_explorer.service;
 
 import com.travelapp.travel_explorer.exception.InvalidFileException;
+import com.travelapp.travel_explorer.exception.StorageBusyException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SupabaseStorageService {
@@ -24,10 +36,52 @@ public class SupabaseStorageService {
   @Value("${supabase.apiKey}")
   private String apiKey;
 
+  /** ขนาด chunk ที่อ่านจากไฟล์ชั่วคราวของ multipart ต่อครั้ง */
+  @Value("${supabase.upload.chunk-size:64KB}")
+  private DataSize chunkSize;
+
+  /** จำนวน upload ที่วิ่งพร้อมกันได้สูงสุด เกินนี้ต้องรอคิว */
+  @Value("${supabase.upload.max-concurrent:8}")
+  private int maxConcurrentUploads;
+
+  /** รอคิวได้นานเท่านี้ ถ้ายังไม่ได้คิวจะตอบ 503 */
+  @Value("${supabase.upload.acquire-timeout:10s}")
+  private Duration acquireTimeout;
+
   private final WebClient webClient = WebClient.builder().build();
 
+  private final Timer uploadSuccess;
+  private final Timer uploadFailure;
+  private final DistributionSummary uploadBytes;
+
+  private Semaphore uploadPermits;
+
+  public SupabaseStorageService(MeterRegistry meterRegistry) {
+    // เวลาเฉพาะช่วงส่งไฟล์ ไม่รวมเวลารอคิว
+    Timer.Builder upload = Timer.builder("storage.upload")
+        .description("Time spent sending an object to Supabase storage");
+    this.uploadSuccess = upload.tag("outcome", "success").register(meterRegistry);
+    this.uploadFailure = upload.tag("outcome", "error").register(meterRegistry);
+    this.uploadBytes = DistributionSummary.builder("storage.upload.bytes")
+        .description("Size of objects stored in Supabase storage")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void init() {
+    uploadPermits = new Semaphore(maxConcurrentUploads, true);
+  }
+
   /** อัปโหลดไฟล์ขึ้น Supabase แล้วคืน public URL */
   public String uploadFile(MultipartFile file) {
+    validateImage(file);
+    String original = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file.bin";
+    String fileName = System.currentTimeMillis() + "_" + original;
+    return store(fileName, file);
+  }
+
+  public void validateImage(MultipartFile file) {
     // Validate file exists
     if (file == null || file.isEmpty()) {
       throw new InvalidFileException("Please select a file to upload");
@@ -38,24 +92,41 @@ public class SupabaseStorageService {
     if (contentType == null || !contentType.startsWith("image/")) {
       throw new InvalidFileException("Only image files are supported");
     }
+  }
 
-    String original = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file.bin";
-    String fileName = System.currentTimeMillis() + "_" + original;
-    String uploadUrl = String.format("%s/storage/v1/object/%s/%s", supabaseUrl, bucket, fileName);
+  /** เก็บไฟล์ที่ path ที่กำหนดใน bucket แบบ stream แล้วคืน public URL */
+  public String store(String objectName, MultipartFile file) {
+    // อ่านไฟล์ทีละ chunk ระหว่างส่ง ไม่โหลดทั้งไฟล์เข้า heap
+    // การอ่านดิสก์เป็น blocking: ย้ายไป boundedElastic ไม่ให้ไปค้างบน event loop ของ WebClient ที่ทุก upload ใช้ร่วมกัน
+    Flux<DataBuffer> body = DataBufferUtils.readInputStream(
+        file::getInputStream, DefaultDataBufferFactory.sharedInstance, (int) chunkSize.toBytes())
+        .subscribeOn(Schedulers.boundedElastic());
+    return put(objectName, file.getContentType(), file.getSize(), body);
+  }
 
-    byte[] bytes;
-    try {
-      bytes = file.getBytes();
-    } catch (IOException e) {
-      throw new InvalidFileException("Cannot read file bytes");
-    }
+  /** สำหรับไฟล์เล็กที่สร้างขึ้นในหน่วยความจำอยู่แล้ว เช่น rendition ของรูป */
+  public String store(String objectName, String contentType, byte[] bytes) {
+    Flux<DataBuffer> body = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes));
+    return put(objectName, contentType, bytes.length, body);
+  }
+
+  public String publicUrl(String objectName) {
+    return String.format("%s/storage/v1/object/public/%s/%s", supabaseUrl, bucket, objectName);
+  }
+
+  private String put(String fileName, String contentType, long contentLength, Flux<DataBuffer> body) {
+    String uploadUrl = String.format("%s/storage/v1/object/%s/%s", supabaseUrl, bucket, fileName);
 
+    acquirePermit();
+    long started = System.nanoTime();
+    boolean stored = false;
     try {
       webClient.put()
           .uri(uploadUrl)
           .header("Authorization", "Bearer " + apiKey)     // Service Role Key
           .header("Content-Type", contentType)
-          .bodyValue(bytes)
+          .contentLength(contentLength)
+          .body(BodyInserters.fromDataBuffers(body))
           .retrieve()
           .onStatus(HttpStatusCode::isError, res ->
               res.bodyToMono(String.class).defaultIfEmpty("Upload failed").flatMap(msg ->
@@ -64,14 +135,30 @@ public class SupabaseStorageService {
           )
           .toBodilessEntity()
           .block();
+      stored = true;
+      uploadBytes.record(contentLength);
 
       // public URL สำหรับ access ไฟล์ได้ทันที
-      return String.format("%s/storage/v1/object/public/%s/%s", supabaseUrl, bucket, fileName);
+      return publicUrl(fileName);
 
     } catch (InvalidFileException ex) {
       throw ex;
     } catch (Exception ex) {
       throw new InvalidFileException("Unexpected error while uploading to Supabase");
+    } finally {
+      (stored ? uploadSuccess : uploadFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+      uploadPermits.release();
+    }
+  }
+
+  private void acquirePermit() {
+    try {
+      if (!uploadPermits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new StorageBusyException("Too many uploads in progress, please retry shortly");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageBusyException("Upload was interrupted while waiting for a free slot");
     }
   }
 }
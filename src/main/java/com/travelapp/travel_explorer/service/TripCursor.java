@@ -0,0 +1,39 @@
+package com.travelapp.travel_explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over {@code (created_at, id)}. Clients only ever see the
+ * Base64 token; the layout is {@code epochSecond.nano:id}.
+ */
+public record TripCursor(OffsetDateTime createdAt, Long id) {
+    
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        String raw = instant.getEpochSecond() + "." + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static TripCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            if (dot < 0 || colon < dot) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long seconds = Long.parseLong(raw.substring(0, dot));
+            int nanos = Integer.parseInt(raw.substring(dot + 1, colon));
+            long id = Long.parseLong(raw.substring(colon + 1));
+            OffsetDateTime createdAt = Instant.ofEpochSecond(seconds, nanos).atOffset(ZoneOffset.UTC);
+            return new TripCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.travelapp.travel_explorer.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.repository.TripRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes every trip to an output stream while reading them through a database
+ * cursor. Each entity is detached right after it is serialized, so memory use
+ * does not depend on the size of the table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripExportService {
+    
+    // flush ทุก ๆ n แถว ให้ client เห็นข้อมูลไหลมาเรื่อย ๆ โดยไม่ต้อง flush ทุกแถว
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    
+    public enum Format {
+        NDJSON, JSON_GZIP;
+        
+        public static Format parse(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "ndjson" -> NDJSON;
+                case "json.gz" -> JSON_GZIP;
+                default -> throw new IllegalArgumentException("format must be ndjson or json.gz");
+            };
+        }
+    }
+    
+    private final TripRepository tripRepository;
+    private final TripMapper tripMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    /** Streams all trips ordered by id and returns the number of rows written. */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream gzip = format == Format.JSON_GZIP ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : null;
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip != null ? gzip : out);
+             Stream<Trip> trips = tripRepository.streamAllForExport()) {
+            // ไม่ให้ generator ปิด output stream ของ response เอง
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.NDJSON) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            
+            Iterator<Trip> iterator = trips.iterator();
+            while (iterator.hasNext()) {
+                Trip trip = iterator.next();
+                writer.writeValue(generator, tripMapper.toDto(trip));
+                // ✅ ปล่อย entity ออกจาก persistence context ทันที ไม่งั้น Hibernate จะถือทุกแถวไว้จนจบ transaction
+                entityManager.detach(trip);
+                if (trip.getAuthor() != null) {
+                    entityManager.detach(trip.getAuthor());
+                }
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            
+            if (format == Format.NDJSON) {
+                if (rows > 0) {
+                    generator.writeRaw('\n');
+                }
+            } else {
+                generator.writeEndArray();
+            }
+        }
+        if (gzip != null) {
+            gzip.finish();
+        }
+        out.flush();
+        
+        record(format, rows, System.nanoTime() - started);
+        return rows;
+    }
+    
+    private void record(Format format, long rows, long elapsedNanos) {
+        String tag = format.name().toLowerCase(Locale.ROOT);
+        Counter.builder("trips.export.rows")
+                .description("Trips written by the export endpoint")
+                .tag("format", tag)
+                .register(meterRegistry)
+                .increment(rows);
+        Timer.builder("trips.export")
+                .description("Duration of a full trip export")
+                .tag("format", tag)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        log.info("Exported {} trips as {} in {} ms ({} rows/sec)",
+                rows, tag, elapsedNanos / 1_000_000, Math.round(rows / seconds));
+    }
+}
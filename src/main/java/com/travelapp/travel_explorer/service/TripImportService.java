@@ -0,0 +1,202 @@
+package com.travelapp.travel_explorer.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripImportError;
+import com.travelapp.travel_explorer.dto.TripImportResponse;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.exception.ResourceNotFoundException;
+import com.travelapp.travel_explorer.geo.GeoMath;
+import com.travelapp.travel_explorer.repository.TripBulkInsertRepository;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports a stream of trips (NDJSON or a JSON array) for one author. Records
+ * are parsed one at a time and inserted in JDBC batches, each batch in its own
+ * transaction. A record that fails validation or cannot be saved is reported
+ * by index and skipped; the rest of the import carries on.
+ */
+@Slf4j
+@Service
+public class TripImportService {
+    
+    // จำกัดจำนวน error ที่ส่งกลับ ไม่ให้ response โตตามจำนวน record ที่เสีย
+    static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private final TripBulkInsertRepository bulkInsertRepository;
+    private final UserRepository userRepository;
+    private final TripMapper tripMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    
+    public TripImportService(TripBulkInsertRepository bulkInsertRepository,
+                             UserRepository userRepository,
+                             TripMapper tripMapper,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${trips.import.batch-size:1000}") int batchSize) {
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.userRepository = userRepository;
+        this.tripMapper = tripMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    public TripImportResponse importTrips(InputStream body, Long authorId) throws IOException {
+        long started = System.nanoTime();
+        // ✅ หา author ครั้งเดียวต่อการ import ไม่ใช่ทุก record
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        
+        Progress progress = new Progress();
+        List<TripDto> batch = new ArrayList<>(batchSize);
+        List<Long> batchIndexes = new ArrayList<>(batchSize);
+        long index = 0;
+        
+        try (MappingIterator<TripDto> records = objectMapper.readerFor(TripDto.class).readValues(body)) {
+            while (true) {
+                TripDto trip;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    trip = records.nextValue();
+                } catch (JsonParseException e) {
+                    // JSON เสีย หาจุดเริ่ม record ถัดไปไม่ได้ จึงหยุดอ่านแต่ยังเก็บ record ที่อ่านได้ก่อนหน้า
+                    progress.fail(index, "Malformed JSON: " + e.getOriginalMessage());
+                    progress.aborted = true;
+                    break;
+                } catch (JsonMappingException e) {
+                    progress.fail(index++, "Invalid trip: " + e.getOriginalMessage());
+                    continue;
+                }
+                
+                String error = validate(trip);
+                if (error != null) {
+                    progress.fail(index++, error);
+                    continue;
+                }
+                batch.add(trip);
+                batchIndexes.add(index++);
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, batchIndexes, author, progress);
+                    batch.clear();
+                    batchIndexes.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, batchIndexes, author, progress);
+        }
+        
+        long elapsedNanos = System.nanoTime() - started;
+        long tripsPerSecond = Math.round(progress.imported / (Math.max(elapsedNanos, 1) / 1_000_000_000.0));
+        log.info("Imported {} trips ({} failed) in {} ms ({} trips/sec)",
+                progress.imported, progress.failed, elapsedNanos / 1_000_000, tripsPerSecond);
+        return new TripImportResponse(progress.imported, progress.failed, progress.errors, progress.aborted,
+                elapsedNanos / 1_000_000, tripsPerSecond);
+    }
+    
+    private void insertBatch(List<TripDto> batch, List<Long> indexes, User author, Progress progress) {
+        try {
+            insert(batch, author);
+            progress.imported += batch.size();
+        } catch (DataAccessException batchFailure) {
+            // บาง record ใน batch ถูกฐานข้อมูลปฏิเสธ: ทั้ง batch rollback แล้ว จึงลองใหม่ทีละ record เพื่อรู้ว่าตัวไหนเสีย
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    insert(List.of(batch.get(i)), author);
+                    progress.imported++;
+                } catch (DataAccessException e) {
+                    progress.fail(indexes.get(i), "Could not save trip: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+    
+    private void insert(List<TripDto> trips, User author) {
+        // Postgres เก็บเวลาละเอียดระดับ microsecond ตัดให้ตรงกับค่าในฐานข้อมูลก่อนส่งต่อให้ index / feed
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = bulkInsertRepository.insertAll(trips, author.getId(), now);
+            // event จะถูกส่งให้ index หลัง commit เท่านั้น (TransactionalEventListener)
+            for (int i = 0; i < trips.size(); i++) {
+                eventPublisher.publishEvent(TripChangedEvent.created(toDto(trips.get(i), ids.get(i), author, now)));
+            }
+        });
+    }
+    
+    private TripDto toDto(TripDto source, Long id, User author, OffsetDateTime createdAt) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setTitle(source.getTitle());
+        dto.setDescription(source.getDescription());
+        dto.setPhotos(source.getPhotos() != null ? source.getPhotos() : new String[0]);
+        dto.setTags(source.getTags() != null ? source.getTags() : new String[0]);
+        dto.setLatitude(source.getLatitude());
+        dto.setLongitude(source.getLongitude());
+        dto.setAuthorId(author.getId());
+        dto.setAuthorDisplayName(author.getDisplayName());
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(createdAt);
+        return tripMapper.withRenditions(dto);
+    }
+    
+    private static String validate(TripDto trip) {
+        if (trip == null) {
+            return "Trip is empty";
+        }
+        if (trip.getTitle() == null || trip.getTitle().trim().isEmpty()) {
+            return "Title is required";
+        }
+        if ((trip.getLatitude() == null) != (trip.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        if (trip.getLatitude() != null) {
+            try {
+                GeoMath.requireValid(trip.getLatitude(), trip.getLongitude());
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+    
+    private static final class Progress {
+        private long imported;
+        private long failed;
+        private boolean aborted;
+        private final List<TripImportError> errors = new ArrayList<>();
+        
+        void fail(long index, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TripImportError(index, message));
+            }
+        }
+    }
+}
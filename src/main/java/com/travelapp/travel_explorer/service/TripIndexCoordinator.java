@@ -0,0 +1,159 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.TripIndex;
+import com.travelapp.travel_explorer.repository.TripRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Warms every {@link TripIndex} from the database in one keyset pass at startup
+ * and forwards committed trip changes to them afterwards. A failed pass resets
+ * the indexes and is retried with exponential backoff until it succeeds; until
+ * then readers fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripIndexCoordinator {
+    
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+    private static final long INITIAL_RETRY_DELAY_MS = 1_000;
+    private static final long MAX_RETRY_DELAY_MS = 300_000;
+    
+    private final TripRepository tripRepository;
+    private final TripMapper tripMapper;
+    private final List<TripIndex> indexes;
+    
+    // trip ที่มี event เข้ามาระหว่าง warm-up ถือว่า event ใหม่กว่า snapshot จาก DB จึงข้ามตอนโหลด
+    private final Set<Long> changedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock warmUpLock = new ReentrantLock();
+    private volatile boolean warming = true;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(retryThreadFactory());
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        warmUp(1);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+    
+    private void warmUp(int attempt) {
+        long started = System.nanoTime();
+        long loaded = 0;
+        
+        try {
+            PageRequest batch = PageRequest.ofSize(WARM_UP_BATCH_SIZE);
+            List<Trip> trips = tripRepository.findFirstPage(batch);
+            while (!trips.isEmpty()) {
+                loadBatch(trips);
+                loaded += trips.size();
+                
+                Trip last = trips.get(trips.size() - 1);
+                trips = tripRepository.findPageAfter(last.getCreatedAt(), last.getId(), batch);
+            }
+        } catch (RuntimeException ex) {
+            // index ที่ยังไม่ ready จะ fallback ไปใช้ฐานข้อมูล แอปจึงยังทำงานต่อได้
+            long delay = retryDelayMillis(attempt);
+            log.error("Trip index warm-up attempt {} failed after {} trips; retrying in {} ms",
+                    attempt, loaded, delay, ex);
+            resetForRetry();
+            try {
+                retryScheduler.schedule(() -> warmUp(attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                log.warn("Trip index warm-up retry not scheduled: application is shutting down");
+            }
+            return;
+        }
+        
+        warmUpLock.lock();
+        try {
+            warming = false;
+            changedDuringWarmUp.clear();
+        } finally {
+            warmUpLock.unlock();
+        }
+        indexes.forEach(TripIndex::markReady);
+        log.info("Warmed {} trip indexes with {} trips in {} ms",
+                indexes.size(), loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        if (!warming) {
+            indexes.forEach(index -> index.apply(event));
+            return;
+        }
+        warmUpLock.lock();
+        try {
+            if (warming) {
+                changedDuringWarmUp.add(event.tripId());
+            }
+            indexes.forEach(index -> index.apply(event));
+        } finally {
+            warmUpLock.unlock();
+        }
+    }
+    
+    // ✅ ล้างของที่โหลดไปครึ่งทางทิ้ง: event ที่เคย apply ไปแล้ว commit อยู่ใน DB แล้ว รอบใหม่จะอ่านเจอเอง
+    private void resetForRetry() {
+        warmUpLock.lock();
+        try {
+            changedDuringWarmUp.clear();
+            indexes.forEach(TripIndex::reset);
+        } finally {
+            warmUpLock.unlock();
+        }
+    }
+    
+    static long retryDelayMillis(int attempt) {
+        int doublings = Math.min(attempt - 1, 20);
+        return Math.min(INITIAL_RETRY_DELAY_MS << doublings, MAX_RETRY_DELAY_MS);
+    }
+    
+    private static ThreadFactory retryThreadFactory() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("trip-index-warm-up-");
+        factory.setDaemon(true);
+        return factory;
+    }
+    
+    private void loadBatch(List<Trip> trips) {
+        List<TripDto> dtos = trips.stream()
+                .map(tripMapper::toDto)
+                .toList();
+        warmUpLock.lock();
+        try {
+            List<TripDto> unchanged = dtos.stream()
+                    .filter(dto -> !changedDuringWarmUp.contains(dto.getId()))
+                    .toList();
+            indexes.forEach(index -> index.load(unchanged));
+        } finally {
+            warmUpLock.unlock();
+        }
+    }
+}
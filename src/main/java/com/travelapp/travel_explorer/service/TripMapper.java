@@ -0,0 +1,47 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.Trip;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+@RequiredArgsConstructor
+public class TripMapper {
+    
+    private final ImageRenditionUrls renditionUrls;
+    
+    // ต้องเรียกใน transaction หรือ trip ต้อง fetch author มาแล้ว
+    public TripDto toDto(Trip trip) {
+        TripDto dto = new TripDto();
+        dto.setId(trip.getId());
+        dto.setTitle(trip.getTitle());
+        dto.setDescription(trip.getDescription());
+        dto.setPhotos(trip.getPhotos());
+        dto.setTags(trip.getTags());
+        dto.setLatitude(trip.getLatitude());
+        dto.setLongitude(trip.getLongitude());
+        
+        if (trip.getAuthor() != null) {
+            dto.setAuthorId(trip.getAuthor().getId());
+            dto.setAuthorDisplayName(trip.getAuthor().getDisplayName());
+        }
+        
+        dto.setCreatedAt(trip.getCreatedAt());
+        dto.setUpdatedAt(trip.getUpdatedAt());
+        
+        return withRenditions(dto);
+    }
+    
+    // เติม URL ของ rendition จาก photos ที่มีอยู่ใน dto (ใช้ร่วมกับ read path ที่ map แถวเป็น dto เอง)
+    public TripDto withRenditions(TripDto dto) {
+        if (dto.getPhotos() != null) {
+            dto.setPhotoRenditions(Arrays.stream(dto.getPhotos())
+                    .map(renditionUrls::forPhoto)
+                    .toList());
+        }
+        return dto;
+    }
+}
@@ -1,52 +1,205 @@
 package com.travelapp.travel_explorer.service;
 
+import com.travelapp.travel_explorer.cache.TripDtoCache;
+import com.travelapp.travel_explorer.dto.NearbyTripDto;
+import com.travelapp.travel_explorer.dto.TripClusterDto;
 import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.dto.TripSuggestionDto;
 import com.travelapp.travel_explorer.entity.Trip;
 import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
 import com.travelapp.travel_explorer.exception.ForbiddenException;
+import com.travelapp.travel_explorer.feed.LatestTripsFeed;
 import com.travelapp.travel_explorer.exception.ResourceNotFoundException;
+import com.travelapp.travel_explorer.geo.GeoBox;
+import com.travelapp.travel_explorer.geo.GeoHit;
+import com.travelapp.travel_explorer.geo.GeoMath;
+import com.travelapp.travel_explorer.geo.TripClusterIndex;
+import com.travelapp.travel_explorer.geo.TripGeoIndex;
+import com.travelapp.travel_explorer.repository.TripLocation;
 import com.travelapp.travel_explorer.repository.TripRepository;
+import com.travelapp.travel_explorer.repository.TripVersion;
 import com.travelapp.travel_explorer.repository.UserRepository;
+import com.travelapp.travel_explorer.search.SearchCursor;
+import com.travelapp.travel_explorer.search.SearchHits;
+import com.travelapp.travel_explorer.search.TripSearchIndex;
+import com.travelapp.travel_explorer.search.TripSuggestIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TripService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_GEO_LIMIT = 100;
+    public static final int MAX_GEO_LIMIT = 500;
+    public static final double DEFAULT_RADIUS_KM = 10;
+    public static final double MAX_RADIUS_KM = 1000;
+    public static final int DEFAULT_SUGGEST_LIMIT = 8;
+    public static final int MAX_SUGGEST_LIMIT = 20;
+    
     private final TripRepository tripRepository;
     private final UserRepository userRepository;
+    private final TripMapper tripMapper;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripSuggestIndex tripSuggestIndex;
+    private final TripGeoIndex tripGeoIndex;
+    private final TripClusterIndex tripClusterIndex;
+    private final TripDtoCache tripDtoCache;
+    private final LatestTripsFeed latestTripsFeed;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // ไม่เปิด transaction: หน้าแรก ๆ ตอบจาก feed ในหน่วยความจำ ส่วน query ด้านล่าง fetch author มาในตัวแล้ว
+    public TripPage getTripPage(String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        TripCursor after = cursor == null || cursor.isBlank() ? null : TripCursor.decode(cursor);
+        if (latestTripsFeed.isReady()) {
+            Optional<TripPage> cached = latestTripsFeed.page(after, size);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        
+        // ดึงเกินมา 1 แถวเพื่อรู้ว่ายังมีหน้าถัดไปหรือไม่
+        PageRequest pageRequest = PageRequest.ofSize(size + 1);
+        List<Trip> trips = after == null
+                ? tripRepository.findFirstPage(pageRequest)
+                : tripRepository.findPageAfter(after.createdAt(), after.id(), pageRequest);
+        
+        String nextCursor = null;
+        if (trips.size() > size) {
+            trips = trips.subList(0, size);
+            Trip last = trips.get(size - 1);
+            nextCursor = new TripCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        List<TripDto> items = trips.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return new TripPage(items, nextCursor);
+    }
     
+    /** โหลดทุก trip ในครั้งเดียว ใช้เฉพาะเมื่อ client ขอ {@code all=true} เท่านั้น */
+    @Transactional(readOnly = true)
     public List<TripDto> getAllTrips() {
         return tripRepository.findAllByOrderByCreatedAtDesc().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    // ไม่เปิด transaction: cache hit ไม่ต้องยืม connection เลย ส่วน miss ใช้ findById ที่ fetch author มาในตัว
     public TripDto getTripById(Long id) {
-        Trip trip = tripRepository.findById(id)
+        return tripDtoCache.get(id, this::loadTrip)
                 .orElseThrow(() -> new ResourceNotFoundException("Trip not found with id: " + id));
-        return convertToDto(trip);
     }
     
-    public List<TripDto> getMyTrips(String username) {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        return tripRepository.findByAuthorId(user.getId()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /** The cached DTO for a trip, without loading it on a miss. */
+    public Optional<TripDto> getCachedTrip(Long id) {
+        return tripDtoCache.getIfPresent(id);
     }
     
-    public List<TripDto> searchTrips(String query) {
-        return tripRepository.searchTrips(query).stream()
+    /** Validators for a trip that is not cached: one narrow query instead of the whole row. */
+    public TripVersion getTripVersion(Long id) {
+        return tripRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TripDto> getMyTrips(Long userId) {
+        // userId มาจาก token แล้ว ไม่ต้อง query หา user จาก email อีก
+        return tripRepository.findByAuthorId(userId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    // ไม่เปิด transaction: ผลจาก search index + trip จาก cache ต่อ id ไม่ต้องยืม connection เลย
+    public TripPage searchTrips(String query, String cursor, Integer limit) {
+        int size = resolvePageSize(limit);
+        int offset = SearchCursor.decode(cursor).offset();
+        
+        List<Long> ids;
+        int total;
+        if (tripSearchIndex.isReady()) {
+            SearchHits hits = tripSearchIndex.search(query, offset, size);
+            ids = hits.ids();
+            total = hits.total();
+        } else {
+            // index ยังโหลดไม่เสร็จ (ช่วง startup) ใช้ LIKE query เดิมไปก่อน
+            List<Long> all = tripRepository.searchTripIds(query);
+            ids = all.subList(Math.min(offset, all.size()), Math.min(offset + size, all.size()));
+            total = all.size();
+        }
+        
+        String nextCursor = offset + size < total ? SearchCursor.encodeOrNull(offset + size) : null;
+        return new TripPage(loadInOrder(ids), nextCursor);
+    }
+    
+    // ตอบจากหน่วยความจำเท่านั้น: ช่วง warm-up ตอนเริ่มแอปคืนรายการว่าง ไม่ยิง LIKE query ทุกตัวอักษรที่พิมพ์
+    public List<TripSuggestionDto> suggest(String prefix, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_SUGGEST_LIMIT;
+        if (size < 1 || size > MAX_SUGGEST_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+        }
+        if (!tripSuggestIndex.isReady()) {
+            return List.of();
+        }
+        return tripSuggestIndex.suggest(prefix, size);
+    }
+    
+    // ไม่เปิด transaction: geo index + trip จาก cache ต่อ id ไม่ต้องยืม connection ส่วน fallback แต่ละ query มี transaction ของ repository เอง
+    public List<NearbyTripDto> findTripsNear(double lat, double lng, Double radiusKm, Integer limit) {
+        double radius = radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM;
+        if (!(radius > 0 && radius <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM);
+        }
+        int size = resolveGeoLimit(limit);
+        GeoMath.requireValid(lat, lng);
+        
+        List<GeoHit> hits;
+        if (tripGeoIndex.isReady()) {
+            hits = tripGeoIndex.near(lat, lng, radius, size);
+        } else {
+            hits = nearestFromDatabase(GeoBox.around(lat, lng, radius), lat, lng, radius, size);
+        }
+        return loadWithDistance(hits);
+    }
+    
+    // ไม่เปิด transaction ด้วยเหตุผลเดียวกับ findTripsNear
+    public List<NearbyTripDto> findTripsWithin(GeoBox box, Integer limit) {
+        int size = resolveGeoLimit(limit);
+        
+        List<GeoHit> hits;
+        if (tripGeoIndex.isReady()) {
+            hits = tripGeoIndex.within(box, size);
+        } else {
+            hits = nearestFromDatabase(box, box.centerLat(), box.centerLng(), Double.POSITIVE_INFINITY, size);
+        }
+        return loadWithDistance(hits);
+    }
+    
+    // ไม่เปิด transaction: index พร้อมแล้วไม่แตะ DB เลย ส่วน fallback เป็น query พิกัดครั้งเดียว
+    public List<TripClusterDto> findTripClusters(GeoBox box, int zoom) {
+        if (tripClusterIndex.isReady()) {
+            return tripClusterIndex.clusters(box, zoom);
+        }
+        // index ยังไม่พร้อม: รวมกลุ่มจากพิกัดใน DB ด้วยกริดเดียวกัน (ช้ากว่า แต่ผลเหมือนกัน)
+        return TripClusterIndex.aggregate(findLocations(box), box, zoom);
+    }
+    
     @Transactional
     public TripDto createTrip(TripDto tripDto, String username) {
         // ✅ หา user จาก username (email)
@@ -56,8 +209,11 @@ public class TripService {
         Trip trip = convertToEntity(tripDto);
         trip.setAuthor(author); // ✅ ตั้ง author เป็นคนที่ login
         
-        Trip saved = tripRepository.save(trip);
-        return convertToDto(saved);
+        // id มาจาก sequence แล้ว insert จึงถูกเลื่อนไปตอน flush: flush ทันทีเพื่อให้ @CreationTimestamp ถูกเซ็ตก่อนแปลงเป็น DTO
+        Trip saved = tripRepository.saveAndFlush(trip);
+        TripDto dto = convertToDto(saved);
+        eventPublisher.publishEvent(TripChangedEvent.created(dto));
+        return dto;
     }
     
     @Transactional
@@ -95,8 +251,11 @@ public class TripService {
             trip.setLongitude(tripDto.getLongitude());
         }
         
-        Trip updated = tripRepository.save(trip);
-        return convertToDto(updated);
+        // flush ทันทีเพื่อให้ @UpdateTimestamp ถูกเซ็ตก่อนแปลงเป็น DTO
+        Trip updated = tripRepository.saveAndFlush(trip);
+        TripDto dto = convertToDto(updated);
+        eventPublisher.publishEvent(TripChangedEvent.updated(dto));
+        return dto;
     }
     
     @Transactional
@@ -110,27 +269,79 @@ public class TripService {
         }
         
         tripRepository.deleteById(id);
+        eventPublisher.publishEvent(TripChangedEvent.deleted(id));
     }
     
-    private TripDto convertToDto(Trip trip) {
-        TripDto dto = new TripDto();
-        dto.setId(trip.getId());
-        dto.setTitle(trip.getTitle());
-        dto.setDescription(trip.getDescription());
-        dto.setPhotos(trip.getPhotos());
-        dto.setTags(trip.getTags());
-        dto.setLatitude(trip.getLatitude());
-        dto.setLongitude(trip.getLongitude());
-        
-        if (trip.getAuthor() != null) {
-            dto.setAuthorId(trip.getAuthor().getId());
-            dto.setAuthorDisplayName(trip.getAuthor().getDisplayName());
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        
-        dto.setCreatedAt(trip.getCreatedAt());
-        dto.setUpdatedAt(trip.getUpdatedAt());
-        
-        return dto;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+    
+    private int resolveGeoLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_GEO_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_GEO_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_GEO_LIMIT);
+        }
+        return limit;
+    }
+    
+    // ช่วง startup ที่ geo index ยังไม่พร้อม: ดึงพิกัดในกล่องจาก DB แล้วคำนวณระยะเอง
+    private List<GeoHit> nearestFromDatabase(GeoBox box, double originLat, double originLng,
+                                             double maxDistanceKm, int limit) {
+        return findLocations(box).stream()
+                .map(l -> new GeoHit(l.id(), GeoMath.distanceKm(originLat, originLng, l.latitude(), l.longitude())))
+                .filter(hit -> hit.distanceKm() <= maxDistanceKm)
+                .sorted(Comparator.comparingDouble(GeoHit::distanceKm))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+    
+    private List<TripLocation> findLocations(GeoBox box) {
+        if (!box.crossesAntimeridian()) {
+            return tripRepository.findLocationsInBox(box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        }
+        List<TripLocation> locations = new ArrayList<>();
+        locations.addAll(tripRepository.findLocationsInBox(box.minLat(), box.maxLat(), box.minLng(), 180));
+        locations.addAll(tripRepository.findLocationsInBox(box.minLat(), box.maxLat(), -180, box.maxLng()));
+        return locations;
+    }
+    
+    private List<NearbyTripDto> loadWithDistance(List<GeoHit> hits) {
+        Map<Long, Double> distances = hits.stream()
+                .collect(Collectors.toMap(GeoHit::id, GeoHit::distanceKm));
+        return loadInOrder(hits.stream().map(GeoHit::id).toList()).stream()
+                .map(trip -> new NearbyTripDto(trip, distances.get(trip.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    // trip จาก cache ต่อ id ก่อน ตัวที่ขาดโหลดพร้อม author ใน query เดียว แล้วเรียงกลับตามลำดับที่ส่งเข้ามา
+    private List<TripDto> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TripDto> byId = tripDtoCache.getAll(ids, missing -> tripRepository.findByIdIn(missing).stream()
+                .collect(Collectors.toMap(Trip::getId, this::convertToDto)));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private TripDto loadTrip(Long id) {
+        return tripRepository.findById(id)
+                .map(this::convertToDto)
+                .orElse(null);
+    }
+    
+    private TripDto convertToDto(Trip trip) {
+        return tripMapper.toDto(trip);
     }
     
     private Trip convertToEntity(TripDto dto) {
@@ -0,0 +1,117 @@
+package com.travelapp.travel_explorer.cache;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripDtoCacheTest {
+    
+    private final LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TripDtoCache nodeA = newNode();
+    private final TripDtoCache nodeB = newNode();
+    
+    private TripDtoCache newNode() {
+        return new TripDtoCache(bus, registry, Duration.ofMinutes(10), 100);
+    }
+    
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Function<Long, TripDto> slowLoader = id -> {
+            loads.incrementAndGet();
+            sleep(100);
+            return trip(id, 1L);
+        };
+        
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<TripDto>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return nodeA.get(7L, slowLoader).orElseThrow();
+                }));
+            }
+            start.countDown();
+            for (Future<TripDto> result : results) {
+                assertThat(result.get().getId()).isEqualTo(7L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", TripDtoCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(15);
+    }
+    
+    @Test
+    void missingTripsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, TripDto> notFound = id -> {
+            loads.incrementAndGet();
+            return null;
+        };
+        
+        assertThat(nodeA.get(1L, notFound)).isEmpty();
+        assertThat(nodeA.get(1L, notFound)).isEmpty();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+    
+    @Test
+    void updatesAndDeletesEvictOnEveryNode() {
+        nodeA.get(1L, id -> trip(id, 10L));
+        nodeB.get(1L, id -> trip(id, 10L));
+        nodeB.get(2L, id -> trip(id, 10L));
+        
+        nodeA.onTripChanged(TripChangedEvent.updated(trip(1L, 10L)));
+        nodeA.onTripChanged(TripChangedEvent.deleted(2L));
+        
+        assertThat(nodeA.getIfPresent(1L)).isEmpty();
+        assertThat(nodeB.getIfPresent(1L)).isEmpty();
+        assertThat(nodeB.getIfPresent(2L)).isEmpty();
+    }
+    
+    @Test
+    void authorChangesEvictThatAuthorsTripsOnEveryNode() {
+        nodeA.get(1L, id -> trip(id, 10L));
+        nodeB.get(1L, id -> trip(id, 10L));
+        nodeB.get(2L, id -> trip(id, 20L));
+        
+        nodeA.onUserChanged(new UserChangedEvent(10L));
+        
+        assertThat(nodeA.getIfPresent(1L)).isEmpty();
+        assertThat(nodeB.getIfPresent(1L)).isEmpty();
+        assertThat(nodeB.getIfPresent(2L)).isPresent();
+    }
+    
+    private static TripDto trip(Long id, Long authorId) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setAuthorId(authorId);
+        return dto;
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
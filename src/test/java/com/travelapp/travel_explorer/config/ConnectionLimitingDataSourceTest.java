@@ -0,0 +1,85 @@
+package com.travelapp.travel_explorer.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+    
+    @Test
+    void permitIsReturnedOnceWhenTheConnectionIsClosed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(50));
+        
+        Connection first = limited.getConnection();
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        
+        first.close();
+        first.close();
+        verify(physical).close();
+        
+        // ปิดซ้ำต้องไม่คืน permit เกิน: ได้ connection ใหม่ 1 อัน แล้วอันที่ 2 ต้องรอจนหมดเวลา
+        Connection second = limited.getConnection();
+        assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+    
+    @Test
+    void failedPoolCheckoutDoesNotLeakThePermit() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool down"))
+                .thenReturn(mock(Connection.class));
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(50));
+        
+        assertThatThrownBy(limited::getConnection).hasMessage("pool down");
+        assertThat(limited.getConnection()).isNotNull();
+    }
+    
+    @Test
+    void manyVirtualThreadsNeverHoldMoreConnectionsThanPermits() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(pool, 4, Duration.ofSeconds(10));
+        
+        CountDownLatch done = new CountDownLatch(500);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                threads.submit(() -> {
+                    try (Connection connection = limited.getConnection()) {
+                        Thread.sleep(2);
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+            assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(maxOpen.get()).isEqualTo(4);
+        assertThat(open.get()).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.travelapp.travel_explorer.config;
+
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.repository.TripRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RepositoryMetricsConfig.class)
+class RepositoryMetricsConfigTest {
+    
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private User author;
+    
+    @BeforeEach
+    void seed() {
+        author = new User();
+        author.setEmail("rows@example.com");
+        author.setPasswordHash("hash");
+        entityManager.persist(author);
+        for (int i = 0; i < 3; i++) {
+            Trip trip = new Trip();
+            trip.setTitle("Trip " + i);
+            trip.setAuthor(author);
+            entityManager.persist(trip);
+        }
+        entityManager.flush();
+    }
+    
+    @Test
+    void recordsRowsPerRepositoryMethod() {
+        tripRepository.findByAuthorId(author.getId());
+        tripRepository.findById(-1L);
+        tripRepository.count();
+        
+        assertThat(rows("findByAuthorId").totalAmount()).isEqualTo(3);
+        assertThat(rows("findById").count()).isEqualTo(1);
+        assertThat(rows("findById").totalAmount()).isZero();
+        assertThat(meterRegistry.find("repository.rows").tag("method", "count").summary()).isNull();
+    }
+    
+    @Test
+    void countsStreamedRowsWhenTheStreamIsClosed() {
+        try (Stream<Trip> trips = tripRepository.streamAllForExport()) {
+            assertThat(trips.count()).isEqualTo(3);
+        }
+        
+        assertThat(rows("streamAllForExport").totalAmount()).isEqualTo(3);
+    }
+    
+    private DistributionSummary rows(String method) {
+        return meterRegistry.get("repository.rows")
+                .tag("repository", "TripRepository")
+                .tag("method", method)
+                .summary();
+    }
+}
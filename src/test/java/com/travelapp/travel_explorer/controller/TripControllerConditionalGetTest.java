@@ -0,0 +1,137 @@
+package com.travelapp.travel_explorer.controller;
+
+import com.travelapp.travel_explorer.cache.UserStateCache;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.repository.TripVersion;
+import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import com.travelapp.travel_explorer.service.TripExportService;
+import com.travelapp.travel_explorer.service.TripImportService;
+import com.travelapp.travel_explorer.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TripController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class TripControllerConditionalGetTest {
+    
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 123_456_000, ZoneOffset.UTC);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockitoBean
+    private TripService tripService;
+    
+    @MockitoBean
+    private TripExportService tripExportService;
+    
+    @MockitoBean
+    private TripImportService tripImportService;
+    
+    @MockitoBean
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @MockitoBean
+    private UserStateCache userStateCache;
+    
+    @Test
+    void tripByIdAnswers304WithoutLoadingTheTrip() throws Exception {
+        when(tripService.getTripVersion(1L)).thenReturn(new TripVersion(1L, UPDATED, "Author"));
+        when(tripService.getTripById(1L)).thenReturn(trip(1L, "Author"));
+        
+        String etag = mockMvc.perform(get("/api/trips/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"1-");
+        
+        mockMvc.perform(get("/api/trips/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/trips/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Mar 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        
+        // ชื่อผู้เขียนเปลี่ยน ETag ต้องเปลี่ยนตาม แม้ updatedAt ของ trip จะเท่าเดิม
+        when(tripService.getTripVersion(1L)).thenReturn(new TripVersion(1L, UPDATED, "Renamed"));
+        when(tripService.getTripById(1L)).thenReturn(trip(1L, "Renamed"));
+        mockMvc.perform(get("/api/trips/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void cachedTripEtagComesFromTheCachedBody() throws Exception {
+        // DB ถูกแก้แล้วแต่ cache ยังไม่ถูกล้าง: ETag ต้องตรงกับ body ที่ส่งจริง ไม่ใช่ version ใหม่ใน DB
+        TripDto stale = trip(3L, "Author");
+        when(tripService.getCachedTrip(3L)).thenReturn(Optional.of(stale));
+        when(tripService.getTripVersion(3L)).thenReturn(new TripVersion(3L, UPDATED.plusMinutes(1), "Author"));
+        
+        String etag = mockMvc.perform(get("/api/trips/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorDisplayName").value("Author"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo(ETags.forTrip(stale));
+        
+        mockMvc.perform(get("/api/trips/3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(tripService, never()).getTripVersion(3L);
+        verify(tripService, never()).getTripById(3L);
+    }
+    
+    @Test
+    void notModifiedTripIsNeverLoaded() throws Exception {
+        when(tripService.getTripVersion(2L)).thenReturn(new TripVersion(2L, UPDATED, "Author"));
+        String etag = ETags.forTrip(new TripVersion(2L, UPDATED, "Author"));
+        
+        mockMvc.perform(get("/api/trips/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        verify(tripService, never()).getTripById(any());
+    }
+    
+    @Test
+    void pageEtagChangesWhenAnyItemChanges() throws Exception {
+        when(tripService.getTripPage(null, null)).thenReturn(new TripPage(List.of(trip(1L, "A"), trip(2L, "A")), null));
+        String etag = mockMvc.perform(get("/api/trips"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        mockMvc.perform(get("/api/trips").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        when(tripService.getTripPage(null, null)).thenReturn(new TripPage(List.of(trip(1L, "A")), null));
+        mockMvc.perform(get("/api/trips").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+    
+    private static TripDto trip(Long id, String author) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setTitle("trip " + id);
+        dto.setAuthorDisplayName(author);
+        dto.setCreatedAt(UPDATED);
+        dto.setUpdatedAt(UPDATED);
+        return dto;
+    }
+}
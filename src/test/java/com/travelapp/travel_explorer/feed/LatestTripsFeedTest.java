@@ -0,0 +1,114 @@
+package com.travelapp.travel_explorer.feed;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.service.TripCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatestTripsFeedTest {
+    
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    
+    private final LatestTripsFeed feed = new LatestTripsFeed(10);
+    
+    @Test
+    void servesPagesInsideThePrefixAndDefersDeepPages() {
+        List<TripDto> table = trips(1, 30);
+        warm(table);
+        
+        TripPage first = feed.page(null, 4).orElseThrow();
+        assertThat(first.getItems()).extracting(TripDto::getId).containsExactly(30L, 29L, 28L, 27L);
+        TripPage second = feed.page(TripCursor.decode(first.getNextCursor()), 4).orElseThrow();
+        assertThat(second.getItems()).extracting(TripDto::getId).containsExactly(26L, 25L, 24L, 23L);
+        
+        // หน้าที่ 3 ต้องการแถวที่ 9-12 (รวมแถวเกินอีก 1) เกินความจุ 10 → ให้ DB ตอบ
+        assertThat(feed.page(TripCursor.decode(second.getNextCursor()), 4)).isEmpty();
+    }
+    
+    @Test
+    void smallTablesAreServedEntirelyIncludingTheLastPage() {
+        warm(trips(1, 5));
+        
+        TripPage page = feed.page(null, 20).orElseThrow();
+        
+        assertThat(page.getItems()).hasSize(5);
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void staysAnExactPrefixOfTheTableThroughRandomWrites() {
+        Random random = new Random(3);
+        List<TripDto> table = new ArrayList<>(trips(1, 25));
+        warm(table);
+        long nextId = 26;
+        
+        for (int step = 0; step < 500; step++) {
+            int action = random.nextInt(3);
+            if (action == 0) {
+                TripDto created = trip(nextId++);
+                table.add(created);
+                feed.apply(TripChangedEvent.created(created));
+            } else if (action == 1 && !table.isEmpty()) {
+                TripDto removed = table.remove(random.nextInt(table.size()));
+                feed.apply(TripChangedEvent.deleted(removed.getId()));
+            } else if (!table.isEmpty()) {
+                TripDto original = table.get(random.nextInt(table.size()));
+                TripDto updated = copyOf(original);
+                updated.setTitle("step " + step);
+                table.set(table.indexOf(original), updated);
+                feed.apply(TripChangedEvent.updated(updated));
+            }
+            
+            table.sort(LatestTripsFeed.NEWEST_FIRST);
+            Optional<TripPage> page = feed.page(null, 3);
+            if (page.isPresent()) {
+                List<TripDto> expected = table.subList(0, Math.min(3, table.size()));
+                assertThat(page.get().getItems()).containsExactlyElementsOf(expected);
+                assertThat(page.get().getNextCursor() == null).isEqualTo(table.size() <= 3);
+            }
+        }
+    }
+    
+    private void warm(List<TripDto> table) {
+        List<TripDto> newestFirst = new ArrayList<>(table);
+        newestFirst.sort(LatestTripsFeed.NEWEST_FIRST);
+        for (int i = 0; i < newestFirst.size(); i += 7) {
+            feed.load(newestFirst.subList(i, Math.min(i + 7, newestFirst.size())));
+        }
+        feed.markReady();
+    }
+    
+    private static List<TripDto> trips(long fromId, long toId) {
+        List<TripDto> trips = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            trips.add(trip(id));
+        }
+        return trips;
+    }
+    
+    private static TripDto trip(long id) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setTitle("trip " + id);
+        dto.setCreatedAt(EPOCH.plusMinutes(id));
+        return dto;
+    }
+    
+    private static TripDto copyOf(TripDto source) {
+        TripDto dto = new TripDto();
+        dto.setId(source.getId());
+        dto.setTitle(source.getTitle());
+        dto.setCreatedAt(source.getCreatedAt());
+        return dto;
+    }
+}
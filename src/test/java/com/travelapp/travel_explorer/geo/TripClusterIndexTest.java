@@ -0,0 +1,115 @@
+package com.travelapp.travel_explorer.geo;
+
+import com.travelapp.travel_explorer.dto.TripClusterDto;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.repository.TripLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TripClusterIndexTest {
+    
+    private static final GeoBox THAILAND = new GeoBox(5, 97, 21, 106);
+    
+    private final TripClusterIndex index = new TripClusterIndex();
+    
+    @Test
+    void aggregatesCountCentroidAndSampleWithinTheViewport() {
+        index.load(List.of(trip(1L, 13.70, 100.50), trip(2L, 13.80, 100.60), trip(3L, 18.79, 98.98)));
+        
+        List<TripClusterDto> clusters = index.clusters(THAILAND, 5);
+        
+        assertThat(clusters).hasSize(2);
+        TripClusterDto bangkok = clusters.stream().filter(c -> c.getCount() == 2).findFirst().orElseThrow();
+        assertThat(bangkok.getLatitude()).isCloseTo(13.75, within(1e-9));
+        assertThat(bangkok.getLongitude()).isCloseTo(100.55, within(1e-9));
+        assertThat(bangkok.getSampleTripId()).isIn(1L, 2L);
+        assertThat(index.clusters(new GeoBox(-10, -10, 10, 10), 5)).isEmpty();
+    }
+    
+    @Test
+    void responseSizeIsBoundedByTheViewportNotTheTripCount() {
+        Random random = new Random(7);
+        List<TripDto> trips = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            trips.add(trip(id, -60 + random.nextDouble() * 130, -180 + random.nextDouble() * 360));
+        }
+        index.load(trips);
+        
+        List<TripClusterDto> world = index.clusters(new GeoBox(-90, -180, 90, 180), 14);
+        
+        assertThat(world.size()).isLessThanOrEqualTo(TripClusterIndex.MAX_CLUSTERS);
+        assertThat(world.stream().mapToInt(TripClusterDto::getCount).sum()).isEqualTo(20_000);
+    }
+    
+    @Test
+    void rejectsZoomOutsideTheWebMapRange() {
+        assertThat(index.clusters(THAILAND, TripClusterIndex.MAX_ZOOM)).isEmpty();
+        assertThatThrownBy(() -> index.clusters(THAILAND, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.clusters(THAILAND, TripClusterIndex.MAX_ZOOM + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        // zoom + 1 ล้นเป็นค่าติดลบถ้าไม่ตรวจก่อน
+        assertThatThrownBy(() -> TripClusterIndex.aggregate(List.of(), THAILAND, Integer.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void incrementalUpdatesMatchAFreshAggregation() {
+        Random random = new Random(11);
+        Map<Long, TripDto> live = new HashMap<>();
+        for (long id = 1; id <= 3000; id++) {
+            TripDto trip = trip(id, 5 + random.nextDouble() * 16, 97 + random.nextDouble() * 9);
+            live.put(id, trip);
+        }
+        index.load(new ArrayList<>(live.values()));
+        
+        for (long id = 1; id <= 3000; id += 3) {
+            index.apply(TripChangedEvent.deleted(id));
+            live.remove(id);
+        }
+        for (long id = 2; id <= 3000; id += 5) {
+            TripDto moved = trip(id, 5 + random.nextDouble() * 16, 97 + random.nextDouble() * 9);
+            index.apply(TripChangedEvent.updated(moved));
+            live.put(id, moved);
+        }
+        
+        List<TripLocation> locations = live.values().stream()
+                .map(t -> new TripLocation(t.getId(), t.getLatitude(), t.getLongitude()))
+                .toList();
+        for (int zoom : new int[]{3, 6, 9}) {
+            List<TripClusterDto> actual = sorted(index.clusters(THAILAND, zoom));
+            List<TripClusterDto> expected = sorted(TripClusterIndex.aggregate(locations, THAILAND, zoom));
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int i = 0; i < actual.size(); i++) {
+                assertThat(actual.get(i).getCount()).isEqualTo(expected.get(i).getCount());
+                assertThat(actual.get(i).getLatitude()).isCloseTo(expected.get(i).getLatitude(), within(1e-6));
+                // sample ต้องเป็น trip ที่ยังอยู่
+                assertThat(live).containsKey(actual.get(i).getSampleTripId());
+            }
+        }
+    }
+    
+    private static List<TripClusterDto> sorted(List<TripClusterDto> clusters) {
+        List<TripClusterDto> copy = new ArrayList<>(clusters);
+        copy.sort(Comparator.comparingDouble(TripClusterDto::getLongitude).thenComparingDouble(TripClusterDto::getLatitude));
+        return copy;
+    }
+    
+    private static TripDto trip(Long id, double lat, double lng) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setLatitude(lat);
+        dto.setLongitude(lng);
+        return dto;
+    }
+}
@@ -0,0 +1,105 @@
+package com.travelapp.travel_explorer.geo;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TripGeoIndexTest {
+    
+    private final TripGeoIndex index = new TripGeoIndex();
+    
+    @Test
+    void nearReturnsTripsInsideTheRadiusNearestFirst() {
+        index.load(List.of(
+                trip(1L, 13.7563, 100.5018),   // กรุงเทพ
+                trip(2L, 13.8000, 100.5500),   // ~7 km
+                trip(3L, 14.3532, 100.5689),   // อยุธยา ~66 km
+                trip(4L, 18.7883, 98.9853),    // เชียงใหม่
+                trip(5L, null, null)));
+        
+        List<GeoHit> hits = index.near(13.7563, 100.5018, 10, 10);
+        
+        assertThat(hits).extracting(GeoHit::id).containsExactly(1L, 2L);
+        assertThat(hits.get(1).distanceKm()).isBetween(6.0, 8.0);
+        assertThat(index.near(13.7563, 100.5018, 100, 10)).extracting(GeoHit::id).containsExactly(1L, 2L, 3L);
+        assertThat(index.near(13.7563, 100.5018, 100, 1)).extracting(GeoHit::id).containsExactly(1L);
+    }
+    
+    @Test
+    void nearFindsTripsAtTheWidestPointOfAHighLatitudeCircle() {
+        // ~973 km จากจุดศูนย์กลาง แต่ห่างไป 36 องศา longitude: เกินกล่องที่คิดจาก cos(lat) ของจุดศูนย์กลาง (~34.7)
+        index.load(List.of(trip(1L, 78.0, 36.0), trip(2L, 78.0, -36.0)));
+        
+        assertThat(index.near(75.0, 0.0, 1000, 10)).extracting(GeoHit::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(GeoBox.around(75.0, 0.0, 1000).maxLng()).isBetween(37.1, 37.2);
+    }
+    
+    @Test
+    void withinHandlesBoxesThatCrossTheAntimeridian() {
+        index.load(List.of(
+                trip(1L, -17.7, 178.0),
+                trip(2L, -17.5, -179.5),
+                trip(3L, -17.6, 170.0)));
+        
+        GeoBox box = new GeoBox(-18, 175, -17, -175);
+        
+        assertThat(index.within(box, 10)).extracting(GeoHit::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.near(-17.6, 179.9, 250, 10)).extracting(GeoHit::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+    
+    @Test
+    void appliesMovesAndDeletes() {
+        index.load(List.of(trip(1L, 13.75, 100.50), trip(2L, 13.76, 100.51)));
+        
+        index.apply(TripChangedEvent.updated(trip(1L, 18.79, 98.98)));
+        index.apply(TripChangedEvent.deleted(2L));
+        
+        assertThat(index.near(13.75, 100.50, 50, 10)).isEmpty();
+        assertThat(index.near(18.79, 98.98, 5, 10)).extracting(GeoHit::id).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void matchesABruteForceScanForSmallAndLargeBoxes() {
+        Random random = new Random(42);
+        List<TripDto> trips = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            trips.add(trip(id, 5 + random.nextDouble() * 15, 97 + random.nextDouble() * 9));
+        }
+        index.load(trips);
+        
+        // กล่องเล็กไล่ตาม cell, กล่องใหญ่ไล่ตาม cell ที่มีข้อมูล ต้องได้ผลเหมือนกัน
+        for (GeoBox box : List.of(new GeoBox(13, 100, 14, 101), new GeoBox(-60, -170, 70, 170))) {
+            List<Long> expected = trips.stream()
+                    .filter(t -> box.contains(t.getLatitude(), t.getLongitude()))
+                    .sorted(Comparator.comparingDouble((TripDto t) -> GeoMath.distanceKm(
+                            box.centerLat(), box.centerLng(), t.getLatitude(), t.getLongitude())))
+                    .limit(50)
+                    .map(TripDto::getId)
+                    .toList();
+            assertThat(index.within(box, 50)).extracting(GeoHit::id).containsExactlyElementsOf(expected);
+        }
+    }
+    
+    @Test
+    void rejectsInvalidCoordinates() {
+        assertThatThrownBy(() -> new GeoBox(10, 0, 5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.near(91, 0, 1, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static TripDto trip(Long id, Double lat, Double lng) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setLatitude(lat);
+        dto.setLongitude(lng);
+        return dto;
+    }
+}
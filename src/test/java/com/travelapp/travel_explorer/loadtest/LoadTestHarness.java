@@ -0,0 +1,520 @@
+package com.travelapp.travel_explorer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.travelapp.travel_explorer.dto.TripImportResponse;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import com.travelapp.travel_explorer.service.TripImportService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the whole app on a random port against the H2 test
+ * database (or any database given via {@code -Dspring.datasource.*}) with
+ * {@link StorageStub} in place of Supabase. Seeds users and trips, drives each
+ * operation at a fixed arrival rate and writes a JSON report with throughput,
+ * latency percentiles and SQL statements per operation, plus heap, RSS and
+ * live-thread samples taken over the measured window. The seed goes through
+ * the bulk importer, and its rows/sec is reported as {@code seedImport}.
+ *
+ * <p>Not picked up by the normal test run (the class name does not match the
+ * surefire patterns); run it with {@code ./mvnw -P loadtest test}. Latency is
+ * measured from each request's scheduled start, so time spent queueing behind a
+ * slow server counts.
+ *
+ * <p>The streaming read API ({@code /api/rx/trips}) is switched on so its
+ * {@code rx-*} operations can be compared with the blocking ones; they are off
+ * by default and are enabled with {@code -Dloadtest.rate.rx-browse=...} etc.
+ *
+ * <p>Per-client rate limits are off because every simulated client shares one
+ * IP; load shedding stays on, and shed requests show up as 503 errors.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"jwt.secret=load-test-secret-that-is-at-least-32-bytes-long", "rate-limit.enabled=false",
+                "trips.reactive.enabled=true"})
+@ActiveProfiles("test")
+class LoadTestHarness {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String[] PLACES = {"Chiang Mai", "Phuket", "Krabi", "Pai", "Koh Samui", "Ayutthaya",
+            "Kanchanaburi", "Hua Hin", "Koh Lanta", "Sukhothai"};
+    private static final String[] TAGS = {"beach", "mountain", "temple", "food", "island", "market", "hiking", "diving"};
+    private static final int AUTHORS_FOR_SEED_TRIPS = 20;
+    // ฐาน H2 in-memory ตัวเดียวกับ spring.datasource.url ของ profile test (ชื่อ travel)
+    private static final String H2_R2DBC_URL = "r2dbc:h2:mem:///travel;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final Settings SETTINGS = Settings.fromSystemProperties();
+    private static StorageStub storage;
+
+    @TestConfiguration
+    static class Instrumentation {
+
+        @Bean
+        SqlStatementCounter sqlStatementCounter() {
+            return new SqlStatementCounter();
+        }
+
+        // static: ต้องมีก่อน DataSource ถูกสร้าง; ห่อก่อน initialization เพื่อให้ BeanPostProcessor ของโหมด virtual thread ยังเห็น Hikari
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                    if (bean instanceof HikariDataSource hikari) {
+                        counter.getObject().instrument(hikari);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        FilterRegistrationBean<?> sqlStatementAttribution(SqlStatementCounter counter) {
+            FilterRegistrationBean<?> registration = new FilterRegistrationBean<>(counter.filter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @DynamicPropertySource
+    static void storageStub(DynamicPropertyRegistry registry) throws IOException {
+        storage = new StorageStub(SETTINGS.storageLatency());
+        registry.add("supabase.url", storage::url);
+        registry.add("supabase.apiKey", () -> "load-test");
+        // ฐานข้อมูลอื่น (-Dspring.datasource.url) ให้ ReactiveTripConfig แปลง url จาก JDBC เอง
+        if (System.getProperty("spring.datasource.url") == null && System.getProperty("trips.reactive.url") == null) {
+            registry.add("trips.reactive.url", () -> H2_R2DBC_URL);
+        }
+    }
+
+    @AfterAll
+    static void stopStorageStub() {
+        storage.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TripImportService tripImportService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<User> users;
+    private List<String> tokens;
+    private long[] tripIds;
+    private byte[] photo;
+    private long importedTrips;
+    private long importNanos;
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        long seedStarted = System.nanoTime();
+        seed();
+        Duration seedTime = Duration.ofNanos(System.nanoTime() - seedStarted);
+
+        Map<String, Operation> operations = operations();
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        operations.keySet().forEach(name -> stats.put(name, new OperationStats()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + SETTINGS.warmup().toNanos();
+        long end = measureFrom + SETTINGS.duration().toNanos();
+        List<Thread> schedulers = new ArrayList<>();
+        MemorySampler memory = new MemorySampler(SETTINGS.memorySampleInterval());
+        Thread memorySampler = memory.start(measureFrom, end);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            operations.forEach((name, operation) -> {
+                double rate = SETTINGS.rates().getOrDefault(name, 0.0);
+                if (rate <= 0) {
+                    return;
+                }
+                long period = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+                schedulers.add(Thread.ofPlatform().name("load-" + name).start(() -> {
+                    // open model: ยิงตามเวลาที่กำหนดไม่ว่า request ก่อนหน้าจะเสร็จหรือยัง
+                    for (long scheduled = start; scheduled < end; scheduled += period) {
+                        LockSupport.parkNanos(scheduled - System.nanoTime());
+                        long intended = scheduled;
+                        boolean measured = intended >= measureFrom;
+                        sqlStatementCounterResetOnce(measured);
+                        clients.submit(() -> execute(operation, measured ? name : "warmup", intended,
+                                measured ? stats.get(name) : null));
+                    }
+                }));
+            });
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+        }
+        memorySampler.join();
+
+        Map<String, Object> report = report(stats, sqlStatementCounter.snapshot(), memory.summarize(), seedTime);
+        Path reportFile = Path.of(SETTINGS.report());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        printSummary(stats, memory.summarize(), reportFile);
+
+        stats.forEach((name, operation) -> {
+            if (SETTINGS.rates().getOrDefault(name, 0.0) > 0) {
+                assertThat(operation.summarize().requests()).as(name).isPositive();
+            }
+        });
+    }
+
+    private volatile boolean countersReset;
+
+    // นับ SQL เฉพาะช่วงวัดผล: ล้างตัวนับครั้งเดียวเมื่อ request แรกของช่วงวัดผลถูกส่ง
+    private void sqlStatementCounterResetOnce(boolean measured) {
+        if (measured && !countersReset) {
+            synchronized (this) {
+                if (!countersReset) {
+                    sqlStatementCounter.reset();
+                    countersReset = true;
+                }
+            }
+        }
+    }
+
+    private void execute(Operation operation, String label, long intendedNanos, OperationStats stats) {
+        int status;
+        try {
+            HttpRequest request = operation.request()
+                    .header(SqlStatementCounter.OPERATION_HEADER, label)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = OperationStats.TRANSPORT_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (stats != null) {
+            stats.record(status, System.nanoTime() - intendedNanos);
+        }
+    }
+
+    private void seed() throws IOException {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> toSave = new ArrayList<>(SETTINGS.users());
+        for (int i = 0; i < SETTINGS.users(); i++) {
+            User user = new User();
+            user.setEmail(email(i));
+            user.setPasswordHash(hash);
+            user.setDisplayName("Load User " + i);
+            toSave.add(user);
+        }
+        users = userRepository.saveAll(toSave);
+        tokens = users.stream()
+                .map(user -> jwtTokenProvider.generateToken(user.getEmail(), user.getId()))
+                .toList();
+
+        // ผ่าน importer เพื่อให้ index ค้นหา/แผนที่/feed ได้รับ event เหมือนข้อมูลจริง
+        int authors = Math.min(users.size(), AUTHORS_FOR_SEED_TRIPS);
+        for (int author = 0; author < authors; author++) {
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = author; i < SETTINGS.trips(); i += authors) {
+                ndjson.append(objectMapper.writeValueAsString(tripJson(i))).append('\n');
+            }
+            byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+            // จับเวลาเฉพาะการ import ไม่รวมการสร้าง JSON ของ seed
+            long importStarted = System.nanoTime();
+            TripImportResponse response = tripImportService.importTrips(new ByteArrayInputStream(body),
+                    users.get(author).getId());
+            importNanos += System.nanoTime() - importStarted;
+            importedTrips += response.getImported();
+        }
+        tripIds = jdbcTemplate.queryForList("SELECT id FROM trips", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        photo = jpeg(640, 480);
+    }
+
+    private Map<String, Operation> operations() {
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        operations.put("browse", () -> get("/api/trips?limit=20"));
+        operations.put("trip", () -> get("/api/trips/" + tripIds[random().nextInt(tripIds.length)]));
+        operations.put("search", () -> get("/api/trips?query="
+                + URLEncoder.encode(searchTerm(), StandardCharsets.UTF_8)));
+        operations.put("login", () -> post("/api/auth/login", null, "application/json",
+                json(Map.of("email", email(random().nextInt(users.size())), "password", PASSWORD))));
+        operations.put("create", () -> post("/api/trips", randomToken(), "application/json",
+                json(tripJson(random().nextInt(1_000_000)))));
+        operations.put("upload", () -> {
+            String boundary = "load-test-" + System.nanoTime();
+            return post("/api/files/upload", randomToken(), "multipart/form-data; boundary=" + boundary,
+                    multipart(boundary, photo));
+        });
+        // คู่ของ browse/trip/search บน /api/rx (R2DBC, เขียนทีละแถว) ไว้เทียบ latency และหน่วยความจำ
+        operations.put("rx-browse", () -> get("/api/rx/trips?limit=20").header("Accept", NDJSON));
+        operations.put("rx-trip", () -> get("/api/rx/trips/" + tripIds[random().nextInt(tripIds.length)]));
+        operations.put("rx-search", () -> get("/api/rx/trips?limit=20&query="
+                + URLEncoder.encode(searchTerm(), StandardCharsets.UTF_8)).header("Accept", NDJSON));
+        return operations;
+    }
+
+    private Map<String, Object> report(Map<String, OperationStats> stats, Map<String, Long> sqlStatements,
+                                       Map<String, Object> memory, Duration seedTime) {
+        double seconds = SETTINGS.duration().toMillis() / 1000.0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((name, operation) -> {
+            OperationStats.Summary summary = operation.summarize();
+            long statements = sqlStatements.getOrDefault(name, 0L);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("targetRatePerSecond", SETTINGS.rates().getOrDefault(name, 0.0));
+            entry.put("requests", summary.requests());
+            entry.put("errors", summary.errors());
+            entry.put("statusCodes", summary.statuses());
+            entry.put("throughputPerSecond", round(summary.requests() / seconds));
+            Map<String, Double> latency = new LinkedHashMap<>();
+            latency.put("p50", summary.p50Ms());
+            latency.put("p99", summary.p99Ms());
+            latency.put("p999", summary.p999Ms());
+            latency.put("max", summary.maxMs());
+            latency.put("mean", summary.meanMs());
+            entry.put("latencyMs", latency);
+            entry.put("sqlStatements", statements);
+            entry.put("sqlStatementsPerRequest", summary.requests() == 0 ? 0 : round((double) statements / summary.requests()));
+            operations.put(name, entry);
+        });
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", SETTINGS.users());
+        config.put("trips", tripIds.length);
+        config.put("warmupSeconds", SETTINGS.warmup().toSeconds());
+        config.put("durationSeconds", SETTINGS.duration().toSeconds());
+        config.put("storageLatencyMs", SETTINGS.storageLatency().toMillis());
+        config.put("memorySampleIntervalMs", SETTINGS.memorySampleInterval().toMillis());
+        config.put("maxHeapMb", Runtime.getRuntime().maxMemory() / 1024 / 1024);
+        config.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        config.put("database", environment.getProperty("spring.datasource.url"));
+        config.put("javaVersion", Runtime.version().toString());
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", config);
+        report.put("seedSeconds", round(seedTime.toMillis() / 1000.0));
+        report.put("seedImport", seedImport());
+        report.put("operations", operations);
+        report.put("memory", memory);
+        report.put("unattributedSqlStatements", sqlStatements.getOrDefault(SqlStatementCounter.UNATTRIBUTED, 0L));
+        report.put("storageObjects", storage.objects());
+        return report;
+    }
+
+    private Map<String, Object> seedImport() {
+        Map<String, Object> seedImport = new LinkedHashMap<>();
+        seedImport.put("trips", importedTrips);
+        seedImport.put("imports", Math.min(users.size(), AUTHORS_FOR_SEED_TRIPS));
+        seedImport.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(importNanos));
+        seedImport.put("tripsPerSecond", Math.round(importedTrips / (Math.max(importNanos, 1) / 1_000_000_000.0)));
+        return seedImport;
+    }
+
+    private void printSummary(Map<String, OperationStats> stats, Map<String, Object> memory, Path reportFile) {
+        System.out.printf("%n%-10s %9s %7s %10s %10s %10s %10s%n", "op", "requests", "errors", "p50 ms", "p99 ms",
+                "p999 ms", "max ms");
+        stats.forEach((name, operation) -> {
+            OperationStats.Summary summary = operation.summarize();
+            System.out.printf("%-10s %9d %7d %10.2f %10.2f %10.2f %10.2f%n", name, summary.requests(),
+                    summary.errors(), summary.p50Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs());
+        });
+        System.out.println("Seed import: " + seedImport());
+        System.out.println("Memory: " + memory);
+        System.out.println("Report: " + reportFile.toAbsolutePath());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String token, String contentType, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String randomToken() {
+        return tokens.get(random().nextInt(tokens.size()));
+    }
+
+    private static String searchTerm() {
+        ThreadLocalRandom random = random();
+        return random.nextBoolean() ? PLACES[random.nextInt(PLACES.length)] : TAGS[random.nextInt(TAGS.length)];
+    }
+
+    private static Map<String, Object> tripJson(int i) {
+        ThreadLocalRandom random = random();
+        String place = PLACES[i % PLACES.length];
+        Map<String, Object> trip = new LinkedHashMap<>();
+        trip.put("title", "Trip " + i + " to " + place);
+        trip.put("description", "Day trips, street food and a long-tail boat ride around " + place + ".");
+        trip.put("tags", List.of(TAGS[i % TAGS.length], TAGS[(i / TAGS.length) % TAGS.length]));
+        trip.put("latitude", 6 + random.nextDouble() * 14);
+        trip.put("longitude", 98 + random.nextDouble() * 7);
+        return trip;
+    }
+
+    private static String email(int i) {
+        return "load" + i + "@example.com";
+    }
+
+    private static byte[] multipart(String boundary, byte[] file) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"photo.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        HttpRequest.Builder request();
+    }
+
+    /**
+     * Run settings from {@code -Dloadtest.*} system properties; rates are
+     * requests per second and 0 turns an operation off.
+     */
+    record Settings(int users, int trips, Duration warmup, Duration duration, Duration storageLatency,
+                    Duration memorySampleInterval, Map<String, Double> rates, String report) {
+
+        static Settings fromSystemProperties() {
+            Map<String, Double> rates = new LinkedHashMap<>();
+            rates.put("browse", rate("browse", 40));
+            rates.put("trip", rate("trip", 40));
+            rates.put("search", rate("search", 20));
+            rates.put("login", rate("login", 2));
+            rates.put("create", rate("create", 5));
+            rates.put("upload", rate("upload", 2));
+            rates.put("rx-browse", rate("rx-browse", 0));
+            rates.put("rx-trip", rate("rx-trip", 0));
+            rates.put("rx-search", rate("rx-search", 0));
+            return new Settings(
+                    Integer.getInteger("loadtest.users", 200),
+                    Integer.getInteger("loadtest.trips", 5_000),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                    Duration.ofMillis(Long.getLong("loadtest.storage-latency-ms", 30)),
+                    Duration.ofMillis(Long.getLong("loadtest.memory-sample-ms", 500)),
+                    rates,
+                    System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        }
+
+        private static double rate(String operation, double defaultRate) {
+            return Double.parseDouble(System.getProperty("loadtest.rate." + operation, String.valueOf(defaultRate)));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.travelapp.travel_explorer.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Samples heap, resident set size and live platform threads of the test JVM at
+ * a fixed interval during the measured window. The load clients run in the same
+ * JVM, so the numbers are only comparable between runs with the same rates.
+ */
+final class MemorySampler {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    // ค่าเดียวกับ gauge jvm.threads.live: นับเฉพาะ platform thread ไม่นับ virtual thread
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Duration interval;
+
+    private long samples;
+    private long heapUsedSum;
+    private long heapUsedMax;
+    private long rssMax = -1;
+    private int liveThreadsMax;
+
+    MemorySampler(Duration interval) {
+        this.interval = interval;
+    }
+
+    /** Samples from {@code fromNanos} until {@code untilNanos} (both {@link System#nanoTime()}) on a daemon thread. */
+    Thread start(long fromNanos, long untilNanos) {
+        return Thread.ofPlatform().name("load-memory-sampler").daemon().start(() -> {
+            LockSupport.parkNanos(fromNanos - System.nanoTime());
+            for (long next = fromNanos; next < untilNanos; next += interval.toNanos()) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                sample();
+            }
+        });
+    }
+
+    private synchronized void sample() {
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        samples++;
+        heapUsedSum += heapUsed;
+        heapUsedMax = Math.max(heapUsedMax, heapUsed);
+        rssMax = Math.max(rssMax, residentSetSize());
+        liveThreadsMax = Math.max(liveThreadsMax, threads.getThreadCount());
+    }
+
+    synchronized Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples);
+        summary.put("heapUsedMeanMb", samples == 0 ? 0 : megabytes(heapUsedSum / samples));
+        summary.put("heapUsedMaxMb", megabytes(heapUsedMax));
+        // อ่านจาก /proc ได้เฉพาะ Linux ที่อื่นรายงานเป็น null
+        summary.put("rssMaxMb", rssMax < 0 ? null : megabytes(rssMax));
+        summary.put("liveThreadsMax", liveThreadsMax);
+        return summary;
+    }
+
+    private static long residentSetSize() {
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // ไม่ใช่ Linux
+        }
+        return -1;
+    }
+
+    private static double megabytes(long bytes) {
+        return Math.round(bytes / 1024.0 / 1024.0 * 10) / 10.0;
+    }
+}
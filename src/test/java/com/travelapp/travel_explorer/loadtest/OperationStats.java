@@ -0,0 +1,57 @@
+package com.travelapp.travel_explorer.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status codes of one operation. Latencies are kept exactly (one
+ * long per request), which is fine for the few hundred thousand requests a
+ * local run makes.
+ */
+final class OperationStats {
+    
+    static final int TRANSPORT_ERROR = -1;
+    
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    
+    synchronized void record(int status, long latencyNanos) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+    }
+    
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        long errors = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new Summary(count, errors, new TreeMap<>(statuses),
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(count == 0 ? 0 : sorted[count - 1]),
+                millis(count == 0 ? 0 : (long) Arrays.stream(sorted).average().orElse(0)));
+    }
+    
+    // nearest-rank
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+    
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+    
+    record Summary(long requests, long errors, Map<Integer, Long> statuses,
+                   double p50Ms, double p99Ms, double p999Ms, double maxMs, double meanMs) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.travelapp.travel_explorer.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts JDBC statements (prepared, callable and plain) per load-test operation.
+ * The counting sits between Hikari and the driver, so it sees Hibernate and
+ * {@code JdbcTemplate} statements alike and leaves the pool (and the
+ * virtual-thread connection limiter around it) in place. Statements are
+ * attributed to the operation named in the {@value #OPERATION_HEADER} header of
+ * the request running on the current thread.
+ */
+final class SqlStatementCounter {
+    
+    static final String OPERATION_HEADER = "X-Load-Op";
+    static final String UNATTRIBUTED = "(none)";
+    
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+    
+    private final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    
+    // ต้องเรียกก่อน pool เริ่มเปิด connection (ก่อน initialization ของ bean)
+    void instrument(HikariDataSource hikari) {
+        DataSource driver = new DriverDataSource(hikari.getJdbcUrl(), hikari.getDriverClassName(),
+                hikari.getDataSourceProperties(), hikari.getUsername(), hikari.getPassword());
+        hikari.setDataSource((DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DataSource.class}, forwarding(driver, (target, method, args) -> {
+                    Object result = method.invoke(target, args);
+                    return result instanceof Connection connection ? counting(connection) : result;
+                })));
+    }
+    
+    OncePerRequestFilter filter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                currentOperation.set(request.getHeader(OPERATION_HEADER));
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    currentOperation.remove();
+                }
+            }
+        };
+    }
+    
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((operation, count) -> snapshot.put(operation, count.sum()));
+        return snapshot;
+    }
+    
+    void reset() {
+        counts.clear();
+    }
+    
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, forwarding(connection, (target, method, args) -> {
+                    if (STATEMENT_METHODS.contains(method.getName())) {
+                        String operation = currentOperation.get();
+                        counts.computeIfAbsent(operation != null ? operation : UNATTRIBUTED, key -> new LongAdder())
+                                .increment();
+                    }
+                    return method.invoke(target, args);
+                }));
+    }
+    
+    private static InvocationHandler forwarding(Object target, TargetCall call) {
+        return (proxy, method, args) -> {
+            try {
+                return call.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+    
+    @FunctionalInterface
+    private interface TargetCall {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,70 @@
+package com.travelapp.travel_explorer.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for the Supabase storage endpoint: accepts
+ * {@code PUT /storage/v1/object/<bucket>/<name>}, reads the whole body and
+ * answers 200 after a fixed delay that approximates the real round trip.
+ */
+final class StorageStub implements AutoCloseable {
+    
+    private final HttpServer server;
+    private final AtomicLong objects = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    
+    StorageStub(Duration latency) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/storage/v1/object/", exchange -> {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = exchange.getRequestBody()) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    bytes.addAndGet(n);
+                }
+            }
+            sleep(latency);
+            objects.incrementAndGet();
+            byte[] body = ("{\"Key\":\"" + exchange.getRequestURI().getPath() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+    
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    long objects() {
+        return objects.get();
+    }
+    
+    long bytes() {
+        return bytes.get();
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+    
+    private static void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
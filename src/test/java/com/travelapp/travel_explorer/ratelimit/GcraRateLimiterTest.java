@@ -0,0 +1,77 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(-123 * SECOND);
+
+    @Test
+    void allowsTheBurstThenOneRequestPerInterval() {
+        GcraRateLimiter limiter = new GcraRateLimiter(2, 4, 100, now::get);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+
+        now.addAndGet(SECOND / 2);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void idleClientsRefillAndAreEvicted() {
+        GcraRateLimiter limiter = new GcraRateLimiter(2, 4, 100, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(42L);
+        }
+
+        now.addAndGet(3 * SECOND);
+
+        assertThat(limiter.clients()).isZero();
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(42L)).isZero();
+        }
+        assertThat(limiter.tryAcquire(42L)).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanTheBurst() throws Exception {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, 50, 100, now::get);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,137 @@
+package com.travelapp.travel_explorer.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.travelapp.travel_explorer.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger dbWaiting = new AtomicInteger();
+    private final LoadShedder shedder = new LoadShedder(0, 10, dbWaiting::get);
+    private final RateLimitFilter filter = new RateLimitFilter(true,
+            Map.of(RouteClass.SEARCH, new GcraRateLimiter(1, 2, 100)),
+            shedder,
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void searchesOverTheLimitGet429PerClient() throws Exception {
+        assertThat(send(search("10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(send(search("10.0.0.1")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse refused = send(search("10.0.0.1"));
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(refused.getContentAsString()).contains("\"status\":429", "\"path\":\"/api/trips\"");
+        assertThat(send(search("10.0.0.2")).getStatus()).isEqualTo(200);
+        // ไม่มี limit ของ trip page ธรรมดา
+        assertThat(send(request("GET", "/api/trips", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("http.server.requests.rejected")
+                .tags("reason", "rate_limit", "route", "search").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void loggedInUsersAreLimitedByIdNotAddress() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(7L, "a@example.com"), null, List.of()));
+        send(search("10.0.0.1"));
+        send(search("10.0.0.1"));
+
+        assertThat(send(search("10.0.0.9")).getStatus()).isEqualTo(429);
+        SecurityContextHolder.clearContext();
+        assertThat(send(search("10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shedsSearchesBeforeOtherRequestsWhenTheDatabaseIsBacklogged() throws Exception {
+        dbWaiting.set(10);
+
+        MockHttpServletResponse shed = send(search("10.0.0.1"));
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(send(request("GET", "/api/trips/1", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(send(request("POST", "/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        dbWaiting.set(20);
+        assertThat(send(request("GET", "/api/trips/1", "10.0.0.1")).getStatus()).isEqualTo(503);
+        // actuator ไม่ถูกตัด
+        assertThat(send(request("GET", "/actuator/health", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestsStayInFlightUntilTheAsyncContextCompletes() throws Exception {
+        MockHttpServletRequest streaming = request("GET", "/api/rx/trips", "10.0.0.1");
+        streaming.setAsyncSupported(true);
+        MockFilterChain startsAsync = new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> request.startAsync());
+        
+        filter.doFilter(streaming, new MockHttpServletResponse(), startsAsync);
+        assertThat(shedder.getInFlight()).isEqualTo(1);
+        
+        MockAsyncContext async = (MockAsyncContext) streaming.getAsyncContext();
+        // timeout แล้วตามด้วย complete ต้องลดตัวนับครั้งเดียว
+        for (AsyncListener listener : async.getListeners()) {
+            listener.onTimeout(new AsyncEvent(async));
+        }
+        async.complete();
+        assertThat(shedder.getInFlight()).isZero();
+    }
+
+    @Test
+    void classifiesRoutes() {
+        assertThat(RouteClass.of(search("10.0.0.1"))).isEqualTo(RouteClass.SEARCH);
+        assertThat(RouteClass.of(request("GET", "/api/trips", "x"))).isNull();
+        assertThat(RouteClass.of(request("GET", "/api/trips/near", "x"))).isNull();
+        assertThat(RouteClass.of(request("POST", "/api/trips/import", "x"))).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of(request("DELETE", "/api/trips/5", "x"))).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of(request("POST", "/api/files/upload/batch", "x"))).isEqualTo(RouteClass.UPLOAD);
+        assertThat(RouteClass.of(request("POST", "/api/auth/login", "x"))).isEqualTo(RouteClass.AUTH);
+        assertThat(RouteClass.of(request("GET", "/api/auth/me", "x"))).isNull();
+    }
+
+    private MockHttpServletResponse send(HttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(shedder.getInFlight()).isZero();
+        return response;
+    }
+
+    private static MockHttpServletRequest search(String ip) {
+        MockHttpServletRequest request = request("GET", "/api/trips", ip);
+        request.setParameter("query", "beach");
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package com.travelapp.travel_explorer.repository;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveTripRepositoryTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static ReactiveTripRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///rxtrips;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        repository = new ReactiveTripRepository(client);
+        client.sql("CREATE TABLE users (id BIGINT PRIMARY KEY, display_name VARCHAR(100))").then().block();
+        client.sql("CREATE TABLE trips (id BIGINT PRIMARY KEY, title VARCHAR NOT NULL, description VARCHAR, " +
+                "photos VARCHAR ARRAY NOT NULL, tags VARCHAR ARRAY NOT NULL, latitude DOUBLE PRECISION, " +
+                "longitude DOUBLE PRECISION, author_id BIGINT, created_at TIMESTAMP WITH TIME ZONE, " +
+                "updated_at TIMESTAMP WITH TIME ZONE)").then().block();
+        client.sql("INSERT INTO users VALUES (1, 'Alice'), (2, 'Bob')").then().block();
+        for (long id = 1; id <= 5; id++) {
+            client.sql("INSERT INTO trips (id, title, photos, tags, latitude, longitude, author_id, created_at) " +
+                            "VALUES (:id, :title, ARRAY['https://x/trips/" + id + "/original.jpg'], ARRAY['beach'], " +
+                            "13.7, 100.5, :author, :createdAt)")
+                    .bind("id", id)
+                    .bind("title", "Trip " + id)
+                    .bind("author", id % 2 == 0 ? 2L : 1L)
+                    .bind("createdAt", T0.plusMinutes(id))
+                    .then().block();
+        }
+    }
+
+    @Test
+    void streamsNewestFirstWithAuthorJoined() {
+        List<TripDto> trips = repository.findNewestFirst(10).collectList().block();
+
+        assertThat(trips).extracting(TripDto::getId).containsExactly(5L, 4L, 3L, 2L, 1L);
+        TripDto newest = trips.get(0);
+        assertThat(newest.getAuthorDisplayName()).isEqualTo("Alice");
+        assertThat(newest.getPhotos()).containsExactly("https://x/trips/5/original.jpg");
+        assertThat(newest.getTags()).containsExactly("beach");
+        assertThat(newest.getCreatedAt().toInstant()).isEqualTo(T0.plusMinutes(5).toInstant());
+    }
+
+    @Test
+    void continuesAfterKeysetCursor() {
+        List<TripDto> trips = repository.findNewestFirstAfter(T0.plusMinutes(4), 4L, 2).collectList().block();
+
+        assertThat(trips).extracting(TripDto::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void loadsByIdAndByAuthor() {
+        assertThat(repository.findById(3L).block().getTitle()).isEqualTo("Trip 3");
+        assertThat(repository.findById(99L).blockOptional()).isEmpty();
+        assertThat(repository.findByAuthorId(2L).collectList().block())
+                .extracting(TripDto::getId).containsExactly(4L, 2L);
+        assertThat(repository.findByIdIn(List.of(1L, 5L, 99L)).collectList().block())
+                .extracting(TripDto::getId).containsExactlyInAnyOrder(1L, 5L);
+    }
+
+    @Test
+    void cancellingTheStreamStopsReadingRows() {
+        assertThat(repository.findNewestFirst(10).take(2).collectList().block())
+                .extracting(TripDto::getId).containsExactly(5L, 4L);
+    }
+}
@@ -0,0 +1,68 @@
+package com.travelapp.travel_explorer.repository;
+
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With pooled sequence ids, saving many trips costs one sequence call per 50
+ * ids and one JDBC batch per 50 rows, instead of one round-trip per row.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TripInsertBatchingTest {
+    
+    private static final int TRIPS = 200;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void savingManyTripsUsesBatchedInserts() {
+        User author = new User();
+        author.setEmail("batch@example.com");
+        author.setPasswordHash("hash");
+        entityManager.persist(author);
+        entityManager.flush();
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        List<Trip> trips = new ArrayList<>();
+        for (int i = 0; i < TRIPS; i++) {
+            Trip trip = new Trip();
+            trip.setTitle("Trip " + i);
+            trip.setAuthor(author);
+            trips.add(trip);
+        }
+        tripRepository.saveAll(trips);
+        // ยังไม่มี insert จนกว่าจะ flush (identity จะ insert ทันทีทีละแถว)
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        entityManager.flush();
+        
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TRIPS);
+        // sequence 1 ครั้งต่อ 50 id (+1 ครั้งตอนเริ่ม) กับ insert statement เดียวที่ส่งเป็น batch (identity: 200 statement)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(TRIPS / 50 + 2);
+        assertThat(trips).extracting(Trip::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,168 @@
+package com.travelapp.travel_explorer.search;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TripSearchIndexTest {
+    
+    private TripSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new TripSearchIndex(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+        index.load(List.of(
+                trip(1L, "คู่มือเที่ยวเกาะช้าง", "วันว่างนี้ไปเที่ยวเกาะช้างกัน", "เกาะ", "ทะเล", "ตราด"),
+                trip(2L, "Chiang Mai night market", "Street food and temples", "food", "market"),
+                trip(3L, "Beach hopping in Krabi", "Island tour with a longtail boat", "beach", "เกาะ"),
+                trip(4L, "Bangkok temples", "Grand palace and Wat Pho, with a quick beach day", "temple")
+        ));
+        index.markReady();
+    }
+    
+    @Test
+    void segmentsThaiTextIntoWords() {
+        assertThat(TextAnalyzer.tokenize("คู่มือเที่ยวเกาะช้าง"))
+                .containsExactly("คู่มือ", "เที่ยว", "เกาะ", "ช้าง");
+    }
+    
+    @Test
+    void findsThaiWordInsideUnspacedTitle() {
+        assertThat(index.search("ช้าง", 0, 10).ids()).containsExactly(1L);
+    }
+    
+    @Test
+    void requiresEveryQueryTerm() {
+        assertThat(index.search("เกาะช้าง", 0, 10).ids()).containsExactly(1L);
+    }
+    
+    @Test
+    void matchesPrefixes() {
+        assertThat(index.search("templ", 0, 10).ids()).containsExactlyInAnyOrder(2L, 4L);
+    }
+    
+    @Test
+    void ranksTitleAndTagMatchesAboveDescriptionMatches() {
+        assertThat(index.search("beach", 0, 10).ids()).containsExactly(3L, 4L);
+    }
+    
+    @Test
+    void paginatesRankedResults() {
+        SearchHits first = index.search("beach", 0, 1);
+        SearchHits second = index.search("beach", 1, 1);
+        
+        assertThat(first.total()).isEqualTo(2);
+        assertThat(first.ids()).containsExactly(3L);
+        assertThat(second.ids()).containsExactly(4L);
+    }
+    
+    @Test
+    void expandsEveryTermSharingAShortPrefix() {
+        index = new TripSearchIndex(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+        List<TripDto> trips = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            trips.add(trip(id, String.format("ba%03d", id), "notes"));
+        }
+        // คำเดียวที่ตรงกับ "zeta" เรียงอยู่ท้ายสุดของคำที่ขึ้นต้นด้วย "b"
+        trips.add(trip(101L, "bangkok", "zeta"));
+        index.load(trips);
+        index.markReady();
+        
+        assertThat(index.search("b", 0, 10).total()).isEqualTo(101);
+        assertThat(index.search("zeta b", 0, 10).ids()).containsExactly(101L);
+    }
+    
+    @Test
+    void rejectsCursorsPastTheDeepestPage() {
+        String deepest = new SearchCursor(SearchCursor.MAX_OFFSET).encode();
+        String overflowing = new SearchCursor(Integer.MAX_VALUE - 5).encode();
+        
+        assertThat(SearchCursor.decode(deepest).offset()).isEqualTo(SearchCursor.MAX_OFFSET);
+        assertThatThrownBy(() -> SearchCursor.decode(overflowing)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(SearchCursor.encodeOrNull(SearchCursor.MAX_OFFSET + 1)).isNull();
+    }
+    
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.apply(TripChangedEvent.updated(trip(2L, "Chiang Rai white temple", null)));
+        assertThat(index.search("market", 0, 10).ids()).isEmpty();
+        assertThat(index.search("rai", 0, 10).ids()).containsExactly(2L);
+        
+        index.apply(TripChangedEvent.deleted(2L));
+        assertThat(index.search("rai", 0, 10).ids()).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+    
+    @Test
+    void cachesByNormalizedQueryAndDropsOnlyQueriesTouchedByAChange() {
+        SearchHits beach = index.search("beach", 0, 10);
+        index.search("mark", 0, 10);
+        index.search("ช้าง", 0, 10);
+        
+        assertThat(index.search("  BEACH ", 0, 10)).isSameAs(beach);
+        assertThat(index.cachedQueries()).isEqualTo(3);
+        
+        // เปลี่ยนแค่รูปภาพ: น้ำหนักคำไม่เปลี่ยน ไม่ต้องทิ้งอะไร
+        TripDto samePhotos = trip(4L, "Bangkok temples", "Grand palace and Wat Pho, with a quick beach day", "temple");
+        samePhotos.setPhotos(new String[]{"https://x/trips/4/original.jpg"});
+        index.apply(TripChangedEvent.updated(samePhotos));
+        assertThat(index.cachedQueries()).isEqualTo(3);
+        
+        // tag "market" ใหม่: ทิ้ง query "mark" (prefix) แต่ "beach" กับ "ช้าง" ยังอยู่
+        index.apply(TripChangedEvent.updated(
+                trip(4L, "Bangkok temples", "Grand palace and Wat Pho, with a quick beach day", "temple", "market")));
+        assertThat(index.cachedQueries()).isEqualTo(2);
+        assertThat(index.search("mark", 0, 10).ids()).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(index.search("beach", 0, 10)).isSameAs(beach);
+        
+        index.apply(TripChangedEvent.deleted(3L));
+        assertThat(index.search("beach", 0, 10).ids()).containsExactly(4L);
+    }
+    
+    @Test
+    void importBatchWithAFullCacheDropsOnlyTheQueriesItTouches() {
+        int cacheSize = 2_000;
+        index = new TripSearchIndex(new SimpleMeterRegistry(), Duration.ofMinutes(5), cacheSize);
+        List<TripDto> places = new ArrayList<>();
+        for (long id = 1; id <= cacheSize; id++) {
+            places.add(trip(id, "place" + id + " guide", "notes"));
+        }
+        index.load(places);
+        index.markReady();
+        for (long id = 1; id <= cacheSize; id++) {
+            index.search("place" + id, 0, 10);
+        }
+        assertThat(index.cachedQueries()).isEqualTo(cacheSize);
+        SearchHits untouched = index.search("place42", 0, 10);
+        
+        // import หนึ่ง batch: trip ใหม่ 1000 รายการที่มีคำ place1000-place1999
+        for (long id = 1_000; id < 2_000; id++) {
+            index.apply(TripChangedEvent.created(trip(10_000 + id, "place" + id + " again", "imported")));
+        }
+        
+        // ทิ้ง place1000-1999 และ query ที่เป็น prefix ของคำเหล่านั้น: place1, place10-19, place100-199
+        assertThat(index.cachedQueries()).isEqualTo(cacheSize - 1_000 - 100 - 10 - 1);
+        assertThat(index.search("place1500", 0, 10).ids()).containsExactlyInAnyOrder(1_500L, 11_500L);
+        assertThat(index.search("place42", 0, 10)).isSameAs(untouched);
+    }
+    
+    private static TripDto trip(Long id, String title, String description, String... tags) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setDescription(description);
+        dto.setTags(tags);
+        dto.setCreatedAt(OffsetDateTime.parse("2025-01-01T00:00:00Z").plusDays(id));
+        return dto;
+    }
+}
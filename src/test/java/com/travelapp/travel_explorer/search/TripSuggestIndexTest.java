@@ -0,0 +1,125 @@
+package com.travelapp.travel_explorer.search;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripSuggestionDto;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TripSuggestIndexTest {
+    
+    private TripSuggestIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new TripSuggestIndex();
+        index.load(List.of(
+                trip(1L, "คู่มือเที่ยวเกาะช้าง", "เกาะ", "ทะเล"),
+                trip(2L, "Beach hopping in Krabi", "Beach", "เกาะ"),
+                trip(3L, "Bangkok temples", "temple", "beach"),
+                trip(4L, "Krabi rock climbing", "climbing", "BEACH")
+        ));
+        index.markReady();
+    }
+    
+    @Test
+    void ranksTagsAndTitlesByHowManyTripsCarryThem() {
+        assertThat(index.suggest("b", 10))
+                .extracting(TripSuggestionDto::getText, TripSuggestionDto::getType, TripSuggestionDto::getCount)
+                .containsExactly(
+                        tuple("Beach", "tag", 3),
+                        tuple("Bangkok temples", "title", 1),
+                        tuple("Beach hopping in Krabi", "title", 1));
+    }
+    
+    @Test
+    void matchesAnyWordStartIncludingThaiAndIsCaseInsensitive() {
+        assertThat(index.suggest("KRAB", 10)).extracting(TripSuggestionDto::getText)
+                .containsExactly("Krabi rock climbing", "Beach hopping in Krabi");
+        assertThat(index.suggest("ช้าง", 10)).extracting(TripSuggestionDto::getText)
+                .containsExactly("คู่มือเที่ยวเกาะช้าง");
+        assertThat(index.suggest("beach ho", 10)).extracting(TripSuggestionDto::getText)
+                .containsExactly("Beach hopping in Krabi");
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+    
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.apply(TripChangedEvent.updated(trip(2L, "Railay sunset", "เกาะ")));
+        assertThat(index.suggest("beach", 10))
+                .extracting(TripSuggestionDto::getText, TripSuggestionDto::getCount)
+                .containsExactly(tuple("Beach", 2));
+        assertThat(index.suggest("rail", 10)).extracting(TripSuggestionDto::getText).containsExactly("Railay sunset");
+        
+        index.apply(TripChangedEvent.deleted(3L));
+        index.apply(TripChangedEvent.deleted(4L));
+        assertThat(index.suggest("bea", 10)).isEmpty();
+        assertThat(index.suggest("เกาะ", 10))
+                .extracting(TripSuggestionDto::getText, TripSuggestionDto::getCount)
+                .containsExactly(tuple("เกาะ", 2), tuple("คู่มือเที่ยวเกาะช้าง", 1));
+    }
+    
+    @Test
+    void limitsResults() {
+        List<TripDto> many = new ArrayList<>();
+        for (long id = 10; id < 40; id++) {
+            many.add(trip(id, "Temple tour " + id, "temple"));
+        }
+        index.load(many);
+        
+        assertThat(index.suggest("temp", 5)).hasSize(5)
+                .first().extracting(TripSuggestionDto::getText).isEqualTo("temple");
+    }
+    
+    @Test
+    void shortPrefixesFindThePopularTagBehindThousandsOfKeys() {
+        // title ที่ขึ้นต้นด้วย "aa" หลายพันรายการเรียงก่อน tag "azure" ที่มีมากที่สุดทั้งหมด
+        List<TripDto> many = new ArrayList<>();
+        for (long id = 100; id < 6_000; id++) {
+            many.add(id % 1000 == 0 ? trip(id, "aa" + id, "azure") : trip(id, "aa" + id));
+        }
+        index.load(many);
+        
+        assertThat(index.suggest("a", 3))
+                .extracting(TripSuggestionDto::getText, TripSuggestionDto::getCount)
+                .first().isEqualTo(tuple("azure", 5));
+        assertThat(index.suggest("az", 3)).extracting(TripSuggestionDto::getText).containsExactly("azure");
+        
+        // ลบ trip ที่ติด tag ไปแล้ว อันดับต้องตามทัน
+        for (long id = 1000; id <= 5000; id += 1000) {
+            index.apply(TripChangedEvent.deleted(id));
+        }
+        assertThat(index.suggest("az", 3)).isEmpty();
+        assertThat(index.suggest("a", 3)).hasSize(3)
+                .allSatisfy(suggestion -> assertThat(suggestion.getType()).isEqualTo("title"));
+    }
+    
+    @Test
+    void longPrefixesFindThePopularTagBehindThousandsOfKeys() {
+        // title "chiang dao ..." หลายพันรายการเรียงก่อน tag "chiang mai" ใน range ของ prefix เดียวกัน
+        List<TripDto> many = new ArrayList<>();
+        for (long id = 100; id < 6_100; id++) {
+            many.add(id % 1000 == 0 ? trip(id, "Chiang Dao " + id, "Chiang Mai") : trip(id, "Chiang Dao " + id));
+        }
+        index.load(many);
+        
+        assertThat(index.suggest("chia", 3))
+                .extracting(TripSuggestionDto::getText, TripSuggestionDto::getCount)
+                .first().isEqualTo(tuple("Chiang Mai", 6));
+        assertThat(index.suggest("chiang m", 3)).extracting(TripSuggestionDto::getText).containsExactly("Chiang Mai");
+    }
+    
+    private static TripDto trip(Long id, String title, String... tags) {
+        TripDto dto = new TripDto();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setTags(tags);
+        return dto;
+    }
+}
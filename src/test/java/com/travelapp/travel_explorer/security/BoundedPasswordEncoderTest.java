@@ -0,0 +1,96 @@
+package com.travelapp.travel_explorer.security;
+
+import com.travelapp.travel_explorer.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final ThreadPoolExecutor hashing = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        hashing.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void hashesOnThePoolAndUpgradesWeakerHashes() {
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), hashing, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenThePoolAndQueueAreFull() throws Exception {
+        PasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), hashing, Duration.ofSeconds(5));
+        // 1 ตัวกำลัง hash อีก 1 ตัวรอในคิว
+        Future<?> running = callers.submit(() -> encoder.encode("a"));
+        Future<?> queued = callers.submit(() -> encoder.encode("b"));
+        while (hashing.getQueue().isEmpty() || hashing.getActiveCount() == 0) {
+            Thread.sleep(5);
+        }
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void givesUpAfterTheTimeout() {
+        PasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), hashing, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> encoder.matches("a", "b")).isInstanceOf(PasswordHashingBusyException.class);
+    }
+
+    private PasswordEncoder blocking() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return true;
+            }
+        };
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.travelapp.travel_explorer.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider tokenProvider;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = newProvider(60_000);
+    }
+    
+    @Test
+    void repeatedTokenIsVerifiedOnlyOnce() {
+        String token = tokenProvider.generateToken("user@example.com", 42L);
+        
+        assertThat(tokenProvider.getEmailFromToken(token)).isEqualTo("user@example.com");
+        assertThat(tokenProvider.getUserIdFromToken(token)).isEqualTo(42L);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        
+        assertThat(meterRegistry.get("jwt.verify").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+    }
+    
+    @Test
+    void rejectsTamperedToken() {
+        String token = tokenProvider.generateToken("user@example.com", 42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        
+        assertThat(tokenProvider.validateToken(tampered)).isFalse();
+    }
+    
+    @Test
+    void rejectsExpiredToken() {
+        JwtTokenProvider expiring = newProvider(-1_000);
+        String token = expiring.generateToken("user@example.com", 42L);
+        
+        assertThat(expiring.validateToken(token)).isFalse();
+    }
+    
+    private JwtTokenProvider newProvider(long expirationMillis) {
+        JwtTokenProvider provider = new JwtTokenProvider(meterRegistry);
+        ReflectionTestUtils.setField(provider, "jwtSecret", "test-secret-that-is-at-least-32-bytes-long!");
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,69 @@
+package com.travelapp.travel_explorer.security;
+
+import com.travelapp.travel_explorer.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottle throttle =
+            new LoginThrottle(Duration.ofMinutes(15), 3, 5, 1_000, meterRegistry, now::get);
+
+    @Test
+    void blocksAnEmailAfterTooManyFailuresUntilTheWindowEnds() {
+        for (int i = 0; i < 3; i++) {
+            throttle.reserve("Alice@Example.com", "10.0.0." + i);
+        }
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertThatThrownBy(() -> throttle.reserve("alice@example.com", "10.0.0.9"))
+                .isInstanceOfSatisfying(LoginThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(TimeUnit.MINUTES.toSeconds(10)));
+        assertThatCode(() -> throttle.reserve("bob@example.com", "10.0.0.9")).doesNotThrowAnyException();
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        assertThatCode(() -> throttle.reserve("alice@example.com", "10.0.0.9")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.throttled").tag("scope", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void blocksAnAddressTryingManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.reserve("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThatThrownBy(() -> throttle.reserve("someone@example.com", "203.0.113.7"))
+                .isInstanceOf(LoginThrottledException.class);
+        // การจองของ email ถูกคืนเมื่อ IP ถูกปฏิเสธ
+        assertThatCode(() -> {
+            throttle.reserve("someone@example.com", "198.51.100.1");
+            throttle.reserve("someone@example.com", "198.51.100.2");
+            throttle.reserve("someone@example.com", "198.51.100.3");
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successAndReleaseGiveReservationsBack() {
+        throttle.reserve("alice@example.com", "10.0.0.1");
+        throttle.reserve("alice@example.com", "10.0.0.1");
+        throttle.recordSuccess("alice@example.com", "10.0.0.1");
+        throttle.reserve("alice@example.com", "10.0.0.1");
+        throttle.release("alice@example.com", "10.0.0.1");
+        throttle.reserve("alice@example.com", "10.0.0.1");
+        throttle.reserve("alice@example.com", "10.0.0.1");
+
+        assertThatCode(() -> throttle.reserve("alice@example.com", "10.0.0.2")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> throttle.reserve("alice@example.com", "10.0.0.2"))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+}
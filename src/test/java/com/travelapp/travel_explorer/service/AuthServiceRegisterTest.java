@@ -0,0 +1,104 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.cache.UserStateCache;
+import com.travelapp.travel_explorer.dto.AuthResponse;
+import com.travelapp.travel_explorer.dto.RegisterRequest;
+import com.travelapp.travel_explorer.exception.DuplicateEmailException;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import com.travelapp.travel_explorer.security.LoginThrottle;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Registration hashes the password while holding no pooled connection, so a
+ * queue of slow hashes cannot drain the Hikari pool.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(AuthService.class)
+class AuthServiceRegisterTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @MockitoBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private UserStateCache userStateCache;
+
+    @MockitoBean
+    private LoginThrottle loginThrottle;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void hashesWithoutHoldingAConnection() {
+        List<Integer> activeWhileHashing = new ArrayList<>();
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            activeWhileHashing.add(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections());
+            return "hashed";
+        });
+
+        AuthResponse response = authService.register(new RegisterRequest("new@example.com", "secret123", "New"));
+
+        assertThat(activeWhileHashing).containsExactly(0);
+        assertThat(response.getUser().getEmail()).isEqualTo("new@example.com");
+        assertThat(userRepository.findByEmail("new@example.com")).get()
+                .extracting(user -> user.getPasswordHash()).isEqualTo("hashed");
+    }
+
+    @Test
+    void registrationThatLosesTheRaceDuringHashingIsADuplicate() {
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            // อีก request สมัคร email เดียวกันสำเร็จระหว่างที่ request นี้ยัง hash อยู่
+            jdbcTemplate.update("INSERT INTO users (email, password_hash) VALUES ('race@example.com', 'x')");
+            return "hashed";
+        });
+
+        assertThatThrownBy(() -> authService.register(new RegisterRequest("race@example.com", "secret123", "Race")))
+                .isInstanceOf(DuplicateEmailException.class);
+    }
+}
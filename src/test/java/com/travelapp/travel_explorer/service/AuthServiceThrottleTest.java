@@ -0,0 +1,77 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.cache.UserStateCache;
+import com.travelapp.travel_explorer.dto.LoginRequest;
+import com.travelapp.travel_explorer.exception.LoginThrottledException;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import com.travelapp.travel_explorer.security.JwtTokenProvider;
+import com.travelapp.travel_explorer.security.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceThrottleTest {
+
+    private static final int PARALLEL_ATTEMPTS = 50;
+    private static final int MAX_FAILURES_PER_EMAIL = 5;
+
+    @Test
+    void parallelBadLoginsReachTheEncoderNoMoreThanTheLimit() throws Exception {
+        AtomicInteger hashed = new AtomicInteger();
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            // แทน BCrypt ที่ช้า: ให้ทุก request ค้างอยู่ระหว่าง hash พร้อมกัน
+            hashed.incrementAndGet();
+            Thread.sleep(100);
+            throw new BadCredentialsException("Bad credentials");
+        });
+        LoginThrottle throttle = new LoginThrottle(Duration.ofMinutes(15), MAX_FAILURES_PER_EMAIL, 1_000, 1_000,
+                new SimpleMeterRegistry());
+        AuthService authService = new AuthService(mock(UserRepository.class), mock(PasswordEncoder.class),
+                authenticationManager, mock(JwtTokenProvider.class), mock(UserStateCache.class), throttle);
+
+        ExecutorService pool = Executors.newFixedThreadPool(PARALLEL_ATTEMPTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Class<?>>> outcomes = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_ATTEMPTS; i++) {
+            outcomes.add(pool.submit(() -> {
+                start.await();
+                try {
+                    authService.login(new LoginRequest("victim@example.com", "guess"), "203.0.113.7");
+                    return null;
+                } catch (RuntimeException e) {
+                    return e.getClass();
+                }
+            }));
+        }
+        start.countDown();
+
+        int throttled = 0;
+        for (Future<Class<?>> outcome : outcomes) {
+            if (outcome.get(10, TimeUnit.SECONDS) == LoginThrottledException.class) {
+                throttled++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(hashed.get()).isEqualTo(MAX_FAILURES_PER_EMAIL);
+        assertThat(throttled).isEqualTo(PARALLEL_ATTEMPTS - MAX_FAILURES_PER_EMAIL);
+    }
+}
@@ -0,0 +1,91 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.dto.BatchUploadResponse;
+import com.travelapp.travel_explorer.dto.BatchUploadResult;
+import com.travelapp.travel_explorer.dto.ImageUploadResponse;
+import com.travelapp.travel_explorer.exception.InvalidFileException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchUploadServiceTest {
+    
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ImageUploadService imageUploadService = mock(ImageUploadService.class);
+    private final BatchUploadService service =
+            new BatchUploadService(imageUploadService, new SupabaseStorageService(new SimpleMeterRegistry()), executor, 3, 20);
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void uploadsConcurrentlyUpToTheCapAndKeepsRequestOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(imageUploadService.upload(any())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (file.getOriginalFilename().equals("photo-4.jpg")) {
+                throw new InvalidFileException("Supabase upload failed: boom");
+            }
+            return new ImageUploadResponse("https://cdn/" + file.getOriginalFilename(), Map.of());
+        });
+        
+        BatchUploadResponse response = service.upload(images(10));
+        
+        assertThat(maxInFlight.get()).isBetween(2, 3);
+        assertThat(response.getSucceeded()).isEqualTo(9);
+        assertThat(response.getFailed()).isEqualTo(1);
+        List<BatchUploadResult> results = response.getResults();
+        for (int i = 0; i < 10; i++) {
+            assertThat(results.get(i).getIndex()).isEqualTo(i);
+            assertThat(results.get(i).getFilename()).isEqualTo("photo-" + i + ".jpg");
+        }
+        assertThat(results.get(4).getUrl()).isNull();
+        assertThat(results.get(4).getError()).contains("boom");
+        assertThat(results.get(5).getUrl()).isEqualTo("https://cdn/photo-5.jpg");
+    }
+    
+    @Test
+    void rejectsTheWholeBatchBeforeUploadingWhenAnyFileIsInvalid() {
+        List<MultipartFile> files = images(3);
+        files.add(new MockMultipartFile("files", "notes.txt", "text/plain", "hello".getBytes()));
+        
+        assertThatThrownBy(() -> service.upload(files))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("file 3 (notes.txt)");
+        verify(imageUploadService, never()).upload(any());
+    }
+    
+    private static List<MultipartFile> images(int count) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new MockMultipartFile("files", "photo-" + i + ".jpg", "image/jpeg", new byte[]{1, 2, 3}));
+        }
+        return files;
+    }
+}
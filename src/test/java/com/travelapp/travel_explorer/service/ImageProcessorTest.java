@@ -0,0 +1,58 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessorTest {
+    
+    private final ImageProcessor processor = new ImageProcessor(properties());
+    
+    private static ImageProperties properties() {
+        Map<String, Integer> renditions = new LinkedHashMap<>();
+        renditions.put("thumbnail", 100);
+        renditions.put("full", 400);
+        return new ImageProperties(renditions, 0.8f, 1, 1, 1_000_000L);
+    }
+    
+    @Test
+    void probeReadsDimensionsWithoutDecoding() throws IOException {
+        byte[] png = png(new BufferedImage(640, 480, BufferedImage.TYPE_INT_ARGB));
+        
+        assertThat(processor.probe(() -> new ByteArrayInputStream(png)))
+                .contains(new ImageProcessor.ImageInfo(640, 480));
+        assertThat(processor.probe(() -> new ByteArrayInputStream("not an image".getBytes()))).isEmpty();
+    }
+    
+    @Test
+    void rendersEachSizeKeepingAspectRatioAndNeverUpscales() throws IOException {
+        byte[] png = png(new BufferedImage(300, 150, BufferedImage.TYPE_INT_ARGB));
+        
+        Map<String, byte[]> renditions = processor.render(() -> new ByteArrayInputStream(png));
+        
+        assertThat(renditions).containsOnlyKeys("thumbnail", "full");
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(renditions.get("thumbnail")));
+        assertThat(thumbnail.getWidth()).isEqualTo(100);
+        assertThat(thumbnail.getHeight()).isEqualTo(50);
+        BufferedImage full = ImageIO.read(new ByteArrayInputStream(renditions.get("full")));
+        assertThat(full.getWidth()).isEqualTo(300);
+        assertThat(full.getHeight()).isEqualTo(150);
+        // PNG โปร่งใสต้องออกมาเป็นพื้นขาว ไม่ใช่ดำ
+        assertThat(full.getRGB(10, 10) & 0xFFFFFF).isGreaterThan(0xF0F0F0);
+    }
+    
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,114 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProperties;
+import com.travelapp.travel_explorer.dto.ImageUploadResponse;
+import com.travelapp.travel_explorer.exception.StorageBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageUploadServiceTest {
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SupabaseStorageService storageService = mock(SupabaseStorageService.class);
+    private final ImageProperties properties = properties();
+    private final ImageProcessor imageProcessor = new ImageProcessor(properties);
+    private final ImageUploadService service = new ImageUploadService(
+            storageService, imageProcessor, new ImageRenditionUrls(properties), properties, executor);
+    
+    private static ImageProperties properties() {
+        Map<String, Integer> renditions = new LinkedHashMap<>();
+        renditions.put("thumbnail", 100);
+        renditions.put("full", 400);
+        return new ImageProperties(renditions, 0.8f, 1, 1, 1_000_000L);
+    }
+    
+    @BeforeEach
+    void storeReturnsObjectUrls() {
+        when(storageService.store(anyString(), any(MultipartFile.class)))
+                .thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+        when(storageService.store(anyString(), anyString(), any(byte[].class)))
+                .thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+    }
+    
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void keepsTheStoredOriginalWhenTheImageCanBeProbedButNotDecoded() throws IOException {
+        // header อ่านได้ (probe ผ่าน) แต่ ImageIO ถอดรหัสไม่ได้: "Unsupported Image Type"
+        byte[] jpeg = twoChannelJpeg();
+        assertThat(imageProcessor.probe(() -> new ByteArrayInputStream(jpeg)))
+                .contains(new ImageProcessor.ImageInfo(64, 48));
+        assertThatThrownBy(() -> imageProcessor.render(() -> new ByteArrayInputStream(jpeg)))
+                .isInstanceOf(IOException.class);
+        
+        ImageUploadResponse response = service.upload(new MockMultipartFile("file", "scan.jpg", "image/jpeg", jpeg));
+        
+        assertThat(response.getUrl()).startsWith("https://cdn/").endsWith("/original.jpg");
+        assertThat(response.getRenditions()).isEmpty();
+        verify(storageService, never()).store(anyString(), anyString(), any(byte[].class));
+    }
+    
+    @Test
+    void returnsTheRenditionsStoredBeforeAStorageFailure() throws IOException {
+        when(storageService.store(endsWith("/full.jpg"), eq("image/jpeg"), any(byte[].class)))
+                .thenThrow(new StorageBusyException("Too many uploads in progress, please retry shortly"));
+        byte[] png = png(new BufferedImage(300, 150, BufferedImage.TYPE_INT_RGB));
+        
+        ImageUploadResponse response = service.upload(new MockMultipartFile("file", "beach.png", "image/png", png));
+        
+        assertThat(response.getUrl()).endsWith("/original.png");
+        assertThat(response.getRenditions()).containsOnlyKeys("thumbnail");
+        assertThat(response.getRenditions().get("thumbnail")).endsWith("/thumbnail.jpg");
+    }
+    
+    private static byte[] twoChannelJpeg() throws IOException {
+        Raster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, 64, 48, 2, null);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(raster, null, null), null);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+    
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
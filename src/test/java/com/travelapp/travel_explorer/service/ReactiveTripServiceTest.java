@@ -0,0 +1,81 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.cache.LocalCacheInvalidationBus;
+import com.travelapp.travel_explorer.cache.TripDtoCache;
+import com.travelapp.travel_explorer.config.ImageProperties;
+import com.travelapp.travel_explorer.dto.StreamedTripDto;
+import com.travelapp.travel_explorer.repository.ReactiveTripRepository;
+import com.travelapp.travel_explorer.search.TripSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveTripServiceTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static ReactiveTripRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///rxservice;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        repository = new ReactiveTripRepository(client);
+        client.sql("CREATE TABLE users (id BIGINT PRIMARY KEY, display_name VARCHAR(100))").then().block();
+        client.sql("CREATE TABLE trips (id BIGINT PRIMARY KEY, title VARCHAR NOT NULL, description VARCHAR, " +
+                "photos VARCHAR ARRAY NOT NULL, tags VARCHAR ARRAY NOT NULL, latitude DOUBLE PRECISION, " +
+                "longitude DOUBLE PRECISION, author_id BIGINT, created_at TIMESTAMP WITH TIME ZONE, " +
+                "updated_at TIMESTAMP WITH TIME ZONE)").then().block();
+        client.sql("INSERT INTO users VALUES (1, 'Alice')").then().block();
+        for (long id = 1; id <= 5; id++) {
+            client.sql("INSERT INTO trips (id, title, photos, tags, author_id, created_at) " +
+                            "VALUES (:id, :title, ARRAY[], ARRAY['beach'], 1, :createdAt)")
+                    .bind("id", id)
+                    .bind("title", "Beach trip " + id)
+                    .bind("createdAt", T0.plusMinutes(id))
+                    .then().block();
+        }
+    }
+
+    @Test
+    void pagesTheListingWithTheCursorOfTheLastTrip() {
+        ReactiveTripService service = service(new TripSearchIndex(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100));
+
+        List<StreamedTripDto> first = service.streamTrips(null, 2).collectList().block();
+        List<StreamedTripDto> second = service.streamTrips(first.get(1).getCursor(), 2).collectList().block();
+
+        assertThat(first).extracting(item -> item.getTrip().getId()).containsExactly(5L, 4L);
+        assertThat(second).extracting(item -> item.getTrip().getId()).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void pagesSearchResultsFromTheIndexWithTheCursorOfTheLastHit() {
+        TripSearchIndex index = new TripSearchIndex(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+        index.load(repository.findNewestFirst(10).collectList().block());
+        index.markReady();
+        ReactiveTripService service = service(index);
+
+        List<StreamedTripDto> first = service.searchTrips("beach", null, 3).collectList().block();
+        List<StreamedTripDto> second = service.searchTrips("beach", first.get(2).getCursor(), 3).collectList().block();
+
+        // คะแนนเท่ากันทุก trip จึงเรียงใหม่สุดก่อน
+        assertThat(first).extracting(item -> item.getTrip().getId()).containsExactly(5L, 4L, 3L);
+        assertThat(second).extracting(item -> item.getTrip().getId()).containsExactly(2L, 1L);
+    }
+
+    private static ReactiveTripService service(TripSearchIndex index) {
+        TripDtoCache cache = new TripDtoCache(new LocalCacheInvalidationBus(), new SimpleMeterRegistry(),
+                Duration.ofMinutes(5), 100);
+        TripMapper mapper = new TripMapper(new ImageRenditionUrls(new ImageProperties(null, 0.8f, 1, 1, 1_000_000L)));
+        return new ReactiveTripService(repository, index, cache, mapper);
+    }
+}
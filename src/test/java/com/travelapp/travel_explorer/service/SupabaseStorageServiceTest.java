@@ -0,0 +1,218 @@
+package com.travelapp.travel_explorer.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.travelapp.travel_explorer.exception.StorageBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Uploads against a local stub of the Supabase storage endpoint. The stub tracks
+ * how many bytes have been read from the source file but not yet received, which
+ * is an upper bound on what the upload path can be holding in memory.
+ */
+class SupabaseStorageServiceTest {
+    
+    private static final long MAX_IN_FLIGHT_BYTES = DataSize.ofMegabytes(16).toBytes();
+    
+    @TempDir
+    Path tempDir;
+    
+    private HttpServer stub;
+    private final AtomicLong readFromFile = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong maxInFlight = new AtomicLong();
+    private final Set<String> readingThreads = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch stubGate = new CountDownLatch(0);
+    
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/storage/v1/object/", exchange -> {
+            try {
+                stubGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = exchange.getRequestBody()) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    long total = received.addAndGet(n);
+                    maxInFlight.accumulateAndGet(readFromFile.get() - total, Math::max);
+                }
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+    }
+    
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+    }
+    
+    @Test
+    void inFlightBytesStayBoundedRegardlessOfFileSize() throws IOException {
+        SupabaseStorageService service = newService(8);
+        
+        for (long size : new long[]{DataSize.ofMegabytes(32).toBytes(), DataSize.ofMegabytes(256).toBytes()}) {
+            readFromFile.set(0);
+            received.set(0);
+            maxInFlight.set(0);
+            
+            String url = service.uploadFile(sparseImage(size));
+            
+            assertThat(url).contains("/storage/v1/object/public/uploads/");
+            assertThat(received.get()).isEqualTo(size);
+            assertThat(maxInFlight.get()).isLessThan(MAX_IN_FLIGHT_BYTES);
+        }
+    }
+    
+    @Test
+    void readsTheFileOffTheHttpClientEventLoop() throws IOException {
+        SupabaseStorageService service = newService(8);
+        
+        service.uploadFile(sparseImage(DataSize.ofMegabytes(4).toBytes()));
+        
+        assertThat(readingThreads).isNotEmpty()
+                .noneMatch(name -> name.startsWith("reactor-http"))
+                .allMatch(name -> name.startsWith("boundedElastic"));
+    }
+    
+    @Test
+    void rejectsUploadsBeyondConcurrencyLimit() throws Exception {
+        SupabaseStorageService service = newService(1);
+        ReflectionTestUtils.setField(service, "acquireTimeout", Duration.ofMillis(200));
+        stubGate = new CountDownLatch(1);
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> service.uploadFile(sparseImage(1024)));
+            // รอให้ upload แรกถือ permit ไว้ก่อน
+            while (received.get() == 0 && readFromFile.get() == 0) {
+                Thread.sleep(10);
+            }
+            
+            assertThatThrownBy(() -> service.uploadFile(sparseImage(1024)))
+                    .isInstanceOf(StorageBusyException.class);
+            
+            stubGate.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isNotBlank();
+        } finally {
+            stubGate.countDown();
+            executor.shutdownNow();
+        }
+    }
+    
+    private SupabaseStorageService newService(int maxConcurrent) {
+        SupabaseStorageService service = new SupabaseStorageService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "supabaseUrl", "http://127.0.0.1:" + stub.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "bucket", "uploads");
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "chunkSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(service, "maxConcurrentUploads", maxConcurrent);
+        ReflectionTestUtils.setField(service, "acquireTimeout", Duration.ofSeconds(10));
+        service.init();
+        return service;
+    }
+    
+    // sparse file: ใช้พื้นที่ดิสก์จริงเกือบศูนย์แม้จะใหญ่หลายร้อย MB
+    private MultipartFile sparseImage(long size) throws IOException {
+        Path path = Files.createTempFile(tempDir, "upload", ".jpg");
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        return new FileBackedMultipartFile(path, size);
+    }
+    
+    /** Like the servlet container's disk-backed part; refuses to hand out the whole file as bytes. */
+    private class FileBackedMultipartFile implements MultipartFile {
+        
+        private final Path path;
+        private final long size;
+        
+        FileBackedMultipartFile(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+        
+        @Override
+        public String getName() {
+            return "file";
+        }
+        
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+        
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+        
+        @Override
+        public long getSize() {
+            return size;
+        }
+        
+        @Override
+        public byte[] getBytes() {
+            throw new AssertionError("upload must not buffer the whole file");
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(Files.newInputStream(path)) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    readingThreads.add(Thread.currentThread().getName());
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        readFromFile.addAndGet(n);
+                    }
+                    return n;
+                }
+            };
+        }
+        
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
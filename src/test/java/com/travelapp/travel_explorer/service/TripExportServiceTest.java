@@ -0,0 +1,122 @@
+package com.travelapp.travel_explorer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelapp.travel_explorer.config.ImageProcessingConfig;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TripExportService.class, TripMapper.class, ImageRenditionUrls.class, ImageProcessingConfig.class})
+class TripExportServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // มากกว่ารอบ flush และมากกว่า fetch size เพื่อให้ cursor ต้องดึงหลายรอบ
+    private static final int TRIPS = 1200;
+
+    @Autowired
+    private TripExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        User author = new User();
+        author.setEmail("exporter@example.com");
+        author.setPasswordHash("hash");
+        author.setDisplayName("Exporter");
+        entityManager.persist(author);
+        for (int i = 0; i < TRIPS; i++) {
+            Trip trip = new Trip();
+            trip.setTitle("Trip " + i);
+            trip.setTags(new String[]{"beach"});
+            trip.setAuthor(author);
+            entityManager.persist(trip);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void ndjsonWritesOneLinePerTripWithOneQuery() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(TripExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(TRIPS);
+        assertThat(lines).hasSize(TRIPS);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("title").asText()).isEqualTo("Trip 0");
+        assertThat(first.get("authorDisplayName").asText()).isEqualTo("Exporter");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        // ทุก entity ถูก detach ระหว่างทาง ไม่มีอะไรค้างใน persistence context
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void gzipWritesSingleJsonArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TripExportService.Format.JSON_GZIP, out);
+
+        JsonNode array = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+        assertThat(array.isArray()).isTrue();
+        assertThat(array).hasSize(TRIPS);
+        assertThat(array.get(TRIPS - 1).get("title").asText()).isEqualTo("Trip " + (TRIPS - 1));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThatThrownBy(() -> TripExportService.Format.parse("csv"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
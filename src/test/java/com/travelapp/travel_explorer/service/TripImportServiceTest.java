@@ -0,0 +1,142 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.config.ImageProcessingConfig;
+import com.travelapp.travel_explorer.dto.TripImportError;
+import com.travelapp.travel_explorer.dto.TripImportResponse;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.event.TripChangedEvent;
+import com.travelapp.travel_explorer.repository.TripBulkInsertRepository;
+import com.travelapp.travel_explorer.repository.TripRepository;
+import com.travelapp.travel_explorer.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without the test-managed transaction: the importer commits every batch
+ * on its own, which is what a real import does.
+ */
+@DataJpaTest(properties = "trips.import.batch-size=1000")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TripImportService.class, TripBulkInsertRepository.class, TripMapper.class,
+        ImageRenditionUrls.class, ImageProcessingConfig.class})
+class TripImportServiceTest {
+
+    @Autowired
+    private TripImportService importService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User author;
+
+    @BeforeEach
+    void createAuthor() {
+        User user = new User();
+        user.setEmail("partner@example.com");
+        user.setPasswordHash("hash");
+        user.setDisplayName("Partner");
+        author = userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tripRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importsAcrossBatchesAndReportsBadRecordsByIndex() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        int total = 2500;
+        for (int i = 0; i < total; i++) {
+            switch (i) {
+                case 3 -> ndjson.append("{\"description\":\"no title\"}");
+                case 7 -> ndjson.append("{\"title\":\"half a point\",\"latitude\":13.7}");
+                case 10 -> ndjson.append("{\"title\":\"bad type\",\"latitude\":\"north\",\"longitude\":1}");
+                default -> ndjson.append("{\"title\":\"Trip ").append(i)
+                        .append("\",\"tags\":[\"beach\"],\"latitude\":13.7,\"longitude\":100.5}");
+            }
+            ndjson.append('\n');
+        }
+
+        TripImportResponse response = importService.importTrips(stream(ndjson.toString()), author.getId());
+
+        assertThat(response.getImported()).isEqualTo(total - 3);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.isAborted()).isFalse();
+        assertThat(response.getErrors()).extracting(TripImportError::getIndex).containsExactly(3L, 7L, 10L);
+        assertThat(tripRepository.count()).isEqualTo(total - 3);
+        assertThat(events.stream(TripChangedEvent.class))
+                .hasSize(total - 3)
+                .allMatch(event -> event.trip().getId() != null && "Partner".equals(event.trip().getAuthorDisplayName()));
+    }
+
+    @Test
+    void acceptsJsonArray() throws Exception {
+        String json = "[{\"title\":\"One\"},{\"title\":\"Two\",\"photos\":[\"https://x/trips/1/original.jpg\"]}]";
+
+        TripImportResponse response = importService.importTrips(stream(json), author.getId());
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(tripRepository.findByAuthorId(author.getId()))
+                .extracting(trip -> trip.getTitle())
+                .containsExactlyInAnyOrder("One", "Two");
+    }
+
+    @Test
+    void malformedJsonKeepsEarlierRecordsAndStops() throws Exception {
+        String ndjson = "{\"title\":\"Good\"}\n{\"title\": oops}\n{\"title\":\"Never read\"}\n";
+
+        TripImportResponse response = importService.importTrips(stream(ndjson), author.getId());
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.isAborted()).isTrue();
+        assertThat(response.getErrors()).extracting(TripImportError::getIndex).containsExactly(1L);
+        assertThat(tripRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void importsTwentyThousandTripsInBatches() throws Exception {
+        // ตรวจแค่ความถูกต้องข้าม 20 batch; อัตรา trips/sec วัดและรายงานใน LoadTestHarness (seedImport)
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            ndjson.append("{\"title\":\"Bulk ").append(i).append("\",\"tags\":[\"bulk\"]}\n");
+        }
+
+        TripImportResponse response = importService.importTrips(stream(ndjson.toString()), author.getId());
+
+        assertThat(response.getImported()).isEqualTo(20_000);
+        assertThat(tripRepository.count()).isEqualTo(20_000);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
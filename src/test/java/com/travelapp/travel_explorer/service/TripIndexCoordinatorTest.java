@@ -0,0 +1,83 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.feed.LatestTripsFeed;
+import com.travelapp.travel_explorer.repository.TripRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TripIndexCoordinatorTest {
+    
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    
+    private final TripRepository tripRepository = mock(TripRepository.class);
+    private final TripMapper tripMapper = mock(TripMapper.class);
+    private final LatestTripsFeed feed = new LatestTripsFeed(10);
+    private final TripIndexCoordinator coordinator = new TripIndexCoordinator(tripRepository, tripMapper, List.of(feed));
+    
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+    }
+    
+    @Test
+    void failedWarmUpResetsTheIndexesAndRetriesUntilReady() throws Exception {
+        Trip first = trip(1L);
+        Trip second = trip(2L);
+        when(tripMapper.toDto(any(Trip.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+        when(tripRepository.findFirstPage(any())).thenReturn(List.of(second));
+        // รอบแรกล้มหลังโหลดไปแล้วหนึ่ง batch, รอบที่สองผ่าน
+        when(tripRepository.findPageAfter(any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of());
+        
+        coordinator.warmUp();
+        assertThat(feed.isReady()).isFalse();
+        assertThat(feed.page(null, 10)).isEmpty();
+        
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!feed.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        
+        assertThat(feed.isReady()).isTrue();
+        // trip ที่โหลดในรอบที่ล้มต้องไม่ค้างซ้ำ
+        assertThat(feed.page(null, 10).orElseThrow().getItems())
+                .extracting(TripDto::getId)
+                .containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void retryDelayDoublesUpToTheCap() {
+        assertThat(TripIndexCoordinator.retryDelayMillis(1)).isEqualTo(1_000);
+        assertThat(TripIndexCoordinator.retryDelayMillis(2)).isEqualTo(2_000);
+        assertThat(TripIndexCoordinator.retryDelayMillis(4)).isEqualTo(8_000);
+        assertThat(TripIndexCoordinator.retryDelayMillis(100)).isEqualTo(300_000);
+    }
+    
+    private static Trip trip(Long id) {
+        Trip trip = new Trip();
+        trip.setId(id);
+        trip.setCreatedAt(EPOCH.plusMinutes(id));
+        return trip;
+    }
+    
+    private static TripDto dto(Trip trip) {
+        TripDto dto = new TripDto();
+        dto.setId(trip.getId());
+        dto.setCreatedAt(trip.getCreatedAt());
+        return dto;
+    }
+}
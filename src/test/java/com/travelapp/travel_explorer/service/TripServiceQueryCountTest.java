@@ -0,0 +1,190 @@
+package com.travelapp.travel_explorer.service;
+
+import com.travelapp.travel_explorer.cache.LocalCacheInvalidationBus;
+import com.travelapp.travel_explorer.cache.TripDtoCache;
+import com.travelapp.travel_explorer.config.ImageProcessingConfig;
+import com.travelapp.travel_explorer.dto.NearbyTripDto;
+import com.travelapp.travel_explorer.dto.TripDto;
+import com.travelapp.travel_explorer.dto.TripPage;
+import com.travelapp.travel_explorer.entity.Trip;
+import com.travelapp.travel_explorer.entity.User;
+import com.travelapp.travel_explorer.feed.LatestTripsFeed;
+import com.travelapp.travel_explorer.geo.TripClusterIndex;
+import com.travelapp.travel_explorer.geo.TripGeoIndex;
+import com.travelapp.travel_explorer.search.TripSearchIndex;
+import com.travelapp.travel_explorer.search.TripSuggestIndex;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read paths must issue a constant number of SQL statements regardless of how
+ * many trips (and distinct authors) they return.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TripService.class, TripMapper.class, ImageRenditionUrls.class, ImageProcessingConfig.class,
+        TripSearchIndex.class, TripSuggestIndex.class, TripGeoIndex.class, TripClusterIndex.class,
+        TripDtoCache.class, LocalCacheInvalidationBus.class, LatestTripsFeed.class})
+class TripServiceQueryCountTest {
+    
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+    
+    private static final int AUTHORS = 5;
+    private static final int TRIPS_PER_AUTHOR = 6;
+    
+    @Autowired
+    private TripService tripService;
+    
+    @Autowired
+    private TripSearchIndex tripSearchIndex;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private Long firstAuthorId;
+    
+    @BeforeEach
+    void seed() {
+        for (int a = 0; a < AUTHORS; a++) {
+            User author = new User();
+            author.setEmail("author" + a + "@example.com");
+            author.setPasswordHash("hash");
+            author.setDisplayName("Author " + a);
+            entityManager.persist(author);
+            if (firstAuthorId == null) {
+                firstAuthorId = author.getId();
+            }
+            
+            for (int t = 0; t < TRIPS_PER_AUTHOR; t++) {
+                Trip trip = new Trip();
+                trip.setTitle("Trip " + a + "-" + t);
+                trip.setTags(new String[]{"beach"});
+                trip.setLatitude(13.75 + a * 0.01);
+                trip.setLongitude(100.50 + t * 0.01);
+                trip.setAuthor(author);
+                entityManager.persist(trip);
+            }
+        }
+        // ล้าง persistence context เพื่อให้ lazy load ของ author ต้องวิ่งไปที่ฐานข้อมูลจริง
+        entityManager.flush();
+        entityManager.clear();
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void tripPageIssuesSingleStatement() {
+        TripPage page = tripService.getTripPage(null, 20);
+        
+        assertThat(page.getItems()).hasSize(20);
+        assertThat(page.getItems()).allMatch(dto -> dto.getAuthorDisplayName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void nextPageIssuesSingleStatement() {
+        TripPage first = tripService.getTripPage(null, 10);
+        statistics.clear();
+        
+        TripPage second = tripService.getTripPage(first.getNextCursor(), 10);
+        
+        assertThat(second.getItems()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void allTripsIssuesSingleStatement() {
+        List<TripDto> trips = tripService.getAllTrips();
+        
+        assertThat(trips).hasSize(AUTHORS * TRIPS_PER_AUTHOR);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void myTripsIssuesSingleStatement() {
+        List<TripDto> trips = tripService.getMyTrips(firstAuthorId);
+        
+        assertThat(trips).hasSize(TRIPS_PER_AUTHOR);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void tripByIdIssuesSingleStatement() {
+        Long id = tripService.getTripPage(null, 1).getItems().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+        
+        TripDto trip = tripService.getTripById(id);
+        
+        assertThat(trip.getAuthorDisplayName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        
+        // ครั้งที่สองมาจาก cache ไม่แตะฐานข้อมูล
+        statistics.clear();
+        assertThat(tripService.getTripById(id)).isSameAs(trip);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    @Test
+    void repeatedSearchIsServedFromCachesWithoutStatements() {
+        tripSearchIndex.load(tripService.getAllTrips());
+        tripSearchIndex.markReady();
+        entityManager.clear();
+        statistics.clear();
+        
+        TripPage first = tripService.searchTrips("beach", null, 10);
+        
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(first.getItems()).allMatch(dto -> dto.getAuthorDisplayName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        
+        // query ที่ normalize แล้วตรงกัน: id จาก cache ของ search และ trip จาก cache ต่อ id
+        statistics.clear();
+        TripPage again = tripService.searchTrips(" Beach ", null, 10);
+        
+        assertThat(again.getItems()).extracting(TripDto::getId)
+                .containsExactlyElementsOf(first.getItems().stream().map(TripDto::getId).toList());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    @Test
+    void nearbyTripsBeforeGeoIndexIsReadyIssueTwoStatements() {
+        // index ยังไม่ warm: 1 query พิกัดในกล่อง + 1 query โหลด trip พร้อม author
+        List<NearbyTripDto> trips = tripService.findTripsNear(13.75, 100.50, 5.0, 10);
+        
+        assertThat(trips).hasSize(10);
+        assertThat(trips).isSortedAccordingTo((x, y) -> Double.compare(x.getDistanceKm(), y.getDistanceKm()));
+        assertThat(trips.get(0).getDistanceKm()).isZero();
+        assertThat(trips).allMatch(dto -> dto.getTrip().getAuthorDisplayName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
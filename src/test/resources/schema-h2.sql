@@ -0,0 +1,25 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS trips_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR NOT NULL,
+    display_name VARCHAR(100),
+    created_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS trips (
+    id BIGINT DEFAULT nextval('trips_seq') PRIMARY KEY,
+    title VARCHAR NOT NULL,
+    description VARCHAR,
+    photos VARCHAR ARRAY NOT NULL,
+    tags VARCHAR ARRAY NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    author_id BIGINT REFERENCES users (id),
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_trips_created_at_id ON trips (created_at DESC, id DESC);